@@ -0,0 +1,49 @@
+package civitas.celestis.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <h2>BenchmarkRunner</h2>
+ * <p>
+ * Entry point of the benchmark jar. Accepts the standard JMH command line options,
+ * and always attaches the GC profiler so that allocation rates ({@code gc.alloc.rate} and
+ * {@code gc.alloc.rate.norm}) are reported alongside timings.
+ * </p>
+ * <p>
+ * Unless overridden on the command line, results are written to {@code jmh-result.json}
+ * so that runs before and after a change can be compared.
+ * </p>
+ * <pre>
+ * mvn -pl OdysseyBenchmarks -am package
+ * java -jar OdysseyBenchmarks/target/benchmarks.jar [regex] [-p size=1024]
+ * </pre>
+ */
+public final class BenchmarkRunner {
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options
+     * @throws CommandLineOptionException When the command line options are invalid
+     * @throws RunnerException            When a benchmark fails to run
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        final CommandLineOptions cli = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(cli)
+                .addProfiler(GCProfiler.class);
+
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+            if (!cli.getResult().hasValue()) options.result("jmh-result.json");
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.number.Vector3;
+import civitas.celestis.object.BaseObject;
+import civitas.celestis.world.RealisticWorld;
+import org.joda.time.Duration;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <h2>BenchmarkWorld</h2>
+ * <p>A realistic world which exposes its tick phases so that they can be measured separately.</p>
+ */
+final class BenchmarkWorld extends RealisticWorld {
+    /**
+     * Creates a new benchmark world.
+     *
+     * @param objects List of objects in this world
+     */
+    BenchmarkWorld(@Nonnull List<BaseObject> objects) {
+        super(new UUID(Fixtures.SEED, -1), "Benchmark", objects, new Vector3(0, -9.8, 0), 1.225);
+    }
+
+    /**
+     * Runs the collision phase of a tick.
+     */
+    void collide() {
+        handleCollisions();
+    }
+
+    /**
+     * Runs the integration phase of a tick.
+     *
+     * @param delta Duration of the tick
+     */
+    void integrate(@Nonnull Duration delta) {
+        tickObjects(delta.getMillis() / 1000d);
+    }
+}
@@ -0,0 +1,197 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.geometry.profile.SphericalGeometry;
+import civitas.celestis.geometry.ray.LightRay;
+import civitas.celestis.geometry.ray.Ray;
+import civitas.celestis.geometry.solid.Sphere;
+import civitas.celestis.geometry.vertex.ColoredVertex;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.Vector3;
+import civitas.celestis.object.BaseObject;
+import civitas.celestis.object.RealisticObject;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * <h2>Fixtures</h2>
+ * <p>
+ * Generates deterministic benchmark inputs.
+ * Every generator is seeded, so runs before and after a change operate on identical data.
+ * </p>
+ */
+final class Fixtures {
+    /**
+     * Seed used by every generator.
+     */
+    static final long SEED = 0x0D7553E7L;
+
+    /**
+     * Creates an array of random vectors within a cube of given half extent.
+     *
+     * @param count  Number of vectors
+     * @param extent Half extent of the cube
+     * @return Array of vectors
+     */
+    @Nonnull
+    static Vector3[] vectors(@Nonnegative int count, double extent) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final Vector3[] vectors = new Vector3[count];
+
+        for (int i = 0; i < count; i++) {
+            vectors[i] = vector(random, extent);
+        }
+
+        return vectors;
+    }
+
+    /**
+     * Creates an array of random unit rotation quaternions.
+     *
+     * @param count Number of quaternions
+     * @return Array of quaternions
+     */
+    @Nonnull
+    static Quaternion[] rotations(@Nonnegative int count) {
+        final SplittableRandom random = new SplittableRandom(SEED + 1);
+        final Quaternion[] rotations = new Quaternion[count];
+
+        for (int i = 0; i < count; i++) {
+            rotations[i] = new Quaternion(
+                    random.nextDouble(-1, 1),
+                    random.nextDouble(-1, 1),
+                    random.nextDouble(-1, 1),
+                    random.nextDouble(-1, 1)
+            ).normalize();
+        }
+
+        return rotations;
+    }
+
+    /**
+     * Creates an array of random positive doubles.
+     *
+     * @param count Number of values
+     * @return Array of values
+     */
+    @Nonnull
+    static double[] positives(@Nonnegative int count) {
+        final SplittableRandom random = new SplittableRandom(SEED + 2);
+        final double[] values = new double[count];
+
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextDouble(1e-3, 1e6);
+        }
+
+        return values;
+    }
+
+    /**
+     * Creates an array of random triangles within a cube of given half extent.
+     *
+     * @param count  Number of triangles
+     * @param extent Half extent of the cube
+     * @return Array of triangles
+     */
+    @Nonnull
+    static ColoredVertex[] triangles(@Nonnegative int count, double extent) {
+        final SplittableRandom random = new SplittableRandom(SEED + 3);
+        final ColoredVertex[] triangles = new ColoredVertex[count];
+
+        for (int i = 0; i < count; i++) {
+            triangles[i] = new ColoredVertex(
+                    vector(random, extent),
+                    vector(random, extent),
+                    vector(random, extent),
+                    Color.GRAY
+            );
+        }
+
+        return triangles;
+    }
+
+    /**
+     * Creates an array of random rays originating within a cube of given half extent,
+     * each aimed at the origin so that roughly half of them hit a triangle near the center.
+     *
+     * @param count  Number of rays
+     * @param extent Half extent of the cube
+     * @return Array of rays
+     */
+    @Nonnull
+    static Ray[] rays(@Nonnegative int count, double extent) {
+        final SplittableRandom random = new SplittableRandom(SEED + 4);
+        final Ray[] rays = new Ray[count];
+
+        for (int i = 0; i < count; i++) {
+            final Vector3 origin = vector(random, extent);
+            rays[i] = new LightRay(origin, origin.negate().add(vector(random, extent / 4)).normalize(), 10);
+        }
+
+        return rays;
+    }
+
+    /**
+     * Creates an array of random spheres within a cube of given half extent.
+     *
+     * @param count  Number of spheres
+     * @param extent Half extent of the cube
+     * @param radius Maximum radius of a sphere
+     * @return Array of spheres
+     */
+    @Nonnull
+    static Sphere[] spheres(@Nonnegative int count, double extent, double radius) {
+        final SplittableRandom random = new SplittableRandom(SEED + 5);
+        final Sphere[] spheres = new Sphere[count];
+
+        for (int i = 0; i < count; i++) {
+            spheres[i] = new Sphere(vector(random, extent), Quaternion.IDENTITY, random.nextDouble(radius / 10, radius));
+        }
+
+        return spheres;
+    }
+
+    /**
+     * Creates a list of randomly placed and moving spherical objects.
+     * The objects are spread over a cube which grows with the number of objects,
+     * so that the average number of neighbours of an object stays the same at every size.
+     *
+     * @param count  Number of objects
+     * @param radius Radius of each object
+     * @return List of objects
+     */
+    @Nonnull
+    static List<BaseObject> objects(@Nonnegative int count, double radius) {
+        final SplittableRandom random = new SplittableRandom(SEED + 6);
+        final List<BaseObject> objects = new ArrayList<>(count);
+        final double extent = Math.cbrt(count) * radius * 4;
+
+        for (int i = 0; i < count; i++) {
+            objects.add(new RealisticObject(
+                    new UUID(SEED, i),
+                    vector(random, extent),
+                    vector(random, radius * 10),
+                    Quaternion.IDENTITY,
+                    Quaternion.IDENTITY,
+                    new SphericalGeometry(radius),
+                    random.nextDouble(1, 100)
+            ));
+        }
+
+        return objects;
+    }
+
+    @Nonnull
+    private static Vector3 vector(@Nonnull SplittableRandom random, double extent) {
+        return new Vector3(
+                random.nextDouble(-extent, extent),
+                random.nextDouble(-extent, extent),
+                random.nextDouble(-extent, extent)
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.geometry.ray.Ray;
+import civitas.celestis.geometry.solid.Solids;
+import civitas.celestis.geometry.solid.Sphere;
+import civitas.celestis.geometry.vertex.ColoredVertex;
+import civitas.celestis.number.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>GeometryBenchmark</h2>
+ * <p>
+ * Measures ray-triangle intersection and sphere overlap tests.
+ * Triangles are placed near the origin and rays are aimed at it, so that both hits and misses are measured.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GeometryBenchmark extends WorkingSetBenchmark {
+    private ColoredVertex[] triangles;
+    private Ray[] rays;
+    private Sphere[] spheres;
+
+    @Override
+    protected void populate() {
+        triangles = Fixtures.triangles(size, 100);
+        rays = Fixtures.rays(size, 1000);
+        spheres = Fixtures.spheres(size, 1000, 100);
+    }
+
+    @Benchmark
+    public boolean solidsIntersects() {
+        final int i = next();
+        return Solids.intersects(triangles[i], rays[i]);
+    }
+
+    @Benchmark
+    public Vector3 vertexIntersection() {
+        final int i = next();
+        return triangles[i].intersection(rays[i]);
+    }
+
+    @Benchmark
+    public boolean sphereOverlaps() {
+        final int i = next();
+        return spheres[i].overlaps(spheres[(i + 1) & mask]);
+    }
+}
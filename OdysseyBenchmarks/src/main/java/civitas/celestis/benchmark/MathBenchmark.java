@@ -0,0 +1,107 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.number.MutableQuaternion;
+import civitas.celestis.number.MutableVector3;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.Vector3;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>MathBenchmark</h2>
+ * <p>
+ * Measures {@link Vector3} and {@link Quaternion} arithmetic.
+ * Each invocation operates on the next element of a working set, so that the size parameter
+ * controls how much of the data fits in cache.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MathBenchmark extends WorkingSetBenchmark {
+    private Vector3[] vectors;
+    private Vector3[] others;
+    private Quaternion[] rotations;
+
+    private final MutableVector3 mutableVector = new MutableVector3();
+    private final MutableQuaternion mutableRotation = new MutableQuaternion();
+    private final double[] scratch = new double[4];
+
+    @Override
+    protected void populate() {
+        vectors = Fixtures.vectors(size, 1000);
+        others = Fixtures.vectors(size, 500);
+        rotations = Fixtures.rotations(size);
+    }
+
+    @Benchmark
+    public Vector3 vectorAdd() {
+        final int i = next();
+        return vectors[i].add(others[i]);
+    }
+
+    @Benchmark
+    public Vector3 vectorMultiply() {
+        return vectors[next()].multiply(1.5);
+    }
+
+    @Benchmark
+    public double vectorDot() {
+        final int i = next();
+        return vectors[i].dot(others[i]);
+    }
+
+    @Benchmark
+    public Vector3 vectorCross() {
+        final int i = next();
+        return vectors[i].cross(others[i]);
+    }
+
+    @Benchmark
+    public Vector3 vectorNormalize() {
+        return vectors[next()].normalize();
+    }
+
+    @Benchmark
+    public double vectorDistance() {
+        final int i = next();
+        return vectors[i].distance(others[i]);
+    }
+
+    @Benchmark
+    public Vector3 vectorRotate() {
+        final int i = next();
+        return vectors[i].rotate(rotations[i]);
+    }
+
+    @Benchmark
+    public Quaternion quaternionMultiply() {
+        final int i = next();
+        return rotations[i].multiply(rotations[(i + 1) & mask]);
+    }
+
+    @Benchmark
+    public Quaternion quaternionNormalize() {
+        return rotations[next()].normalize();
+    }
+
+    @Benchmark
+    public double mutableRotate() {
+        final int i = next();
+        return mutableRotation.set(rotations[i]).rotate(mutableVector.set(vectors[i])).x();
+    }
+
+    @Benchmark
+    public double quaternionMultiplyKernel() {
+        final int i = next();
+        final Quaternion a = rotations[i];
+        final Quaternion b = rotations[(i + 1) & mask];
+
+        Quaternion.multiply(a.w(), a.x(), a.y(), a.z(), b.w(), b.x(), b.y(), b.z(), scratch, 0);
+        return scratch[0];
+    }
+}
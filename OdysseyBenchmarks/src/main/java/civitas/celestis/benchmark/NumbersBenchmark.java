@@ -0,0 +1,51 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.number.Numbers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>NumbersBenchmark</h2>
+ * <p>Compares {@link Numbers#isqrt(double)} against the inverse of {@link Math#sqrt(double)}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumbersBenchmark extends WorkingSetBenchmark {
+    private double[] doubles;
+    private float[] floats;
+
+    @Override
+    protected void populate() {
+        doubles = Fixtures.positives(size);
+        floats = new float[size];
+
+        for (int i = 0; i < size; i++) {
+            floats[i] = (float) doubles[i];
+        }
+    }
+
+    @Benchmark
+    public double isqrtDouble() {
+        return Numbers.isqrt(doubles[next()]);
+    }
+
+    @Benchmark
+    public double inverseSqrtDouble() {
+        return 1 / Math.sqrt(doubles[next()]);
+    }
+
+    @Benchmark
+    public float isqrtFloat() {
+        return Numbers.isqrt(floats[next()]);
+    }
+
+    @Benchmark
+    public float inverseSqrtFloat() {
+        return (float) (1 / Math.sqrt(floats[next()]));
+    }
+}
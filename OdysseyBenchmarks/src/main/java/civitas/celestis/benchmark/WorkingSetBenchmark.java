@@ -0,0 +1,60 @@
+package civitas.celestis.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * <h2>WorkingSetBenchmark</h2>
+ * <p>
+ * The base of benchmarks which cycle through a working set of fixtures.
+ * Each invocation operates on the {@link #next() next} element, so that the size parameter
+ * controls how much of the data fits in cache.
+ * </p>
+ */
+@State(Scope.Thread)
+public abstract class WorkingSetBenchmark {
+    /**
+     * Number of elements in the working set. Must be a power of two.
+     */
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    /**
+     * Mask which wraps an index into the working set.
+     */
+    protected int mask;
+    private int cursor;
+
+    /**
+     * Validates the size of the working set, then populates it.
+     *
+     * @throws IllegalArgumentException When the size is not a power of two
+     */
+    @Setup
+    public final void setup() throws IllegalArgumentException {
+        if (size < 1 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Size must be a power of two, but was " + size + ".");
+        }
+
+        mask = size - 1;
+        cursor = 0;
+
+        populate();
+    }
+
+    /**
+     * Creates the {@link #size} elements of the working set.
+     */
+    protected abstract void populate();
+
+    /**
+     * Advances to the next element of the working set.
+     *
+     * @return Index of element
+     */
+    protected final int next() {
+        return cursor = (cursor + 1) & mask;
+    }
+}
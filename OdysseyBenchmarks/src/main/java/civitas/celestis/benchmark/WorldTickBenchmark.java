@@ -0,0 +1,76 @@
+package civitas.celestis.benchmark;
+
+import civitas.celestis.world.RealisticWorld;
+import org.joda.time.Duration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>WorldTickBenchmark</h2>
+ * <p>
+ * Measures the tick latency of a {@link RealisticWorld} filled with spherical objects.
+ * The whole tick and its two phases ({@code handleCollisions} and {@code tickObjects}) are measured separately,
+ * so that the time split between them can be read off the results at every world size.
+ * </p>
+ * <p>
+ * Sample mode records the latency distribution, so the JSON results contain
+ * the p50, p99 and p999 tick latency of each size. Run with the GC profiler (as
+ * {@link BenchmarkRunner} does) to report the allocation rate per tick.
+ * The world is rebuilt from the same seed before every iteration, so every iteration
+ * measures the same simulation.
+ * </p>
+ * <pre>
+ * java -jar OdysseyBenchmarks/target/benchmarks.jar WorldTickBenchmark -rff world-tick.json
+ * </pre>
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WorldTickBenchmark {
+    /**
+     * Duration of a single tick.
+     */
+    private static final Duration DELTA = Duration.millis(16);
+
+    /**
+     * Number of objects in the world.
+     */
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int count;
+
+    /**
+     * Whether objects are ticked in parallel.
+     */
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private BenchmarkWorld world;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        world = new BenchmarkWorld(Fixtures.objects(count, 1));
+        world.setParallel(parallel);
+
+        // Populate the overlap cache so that the first measured tick is not an outlier
+        world.tick(DELTA);
+    }
+
+    @Benchmark
+    public void tick() {
+        world.tick(DELTA);
+    }
+
+    @Benchmark
+    public void handleCollisions() {
+        world.collide();
+    }
+
+    @Benchmark
+    public void tickObjects() {
+        world.integrate(DELTA);
+    }
+}
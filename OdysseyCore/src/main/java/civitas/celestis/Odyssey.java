@@ -1,6 +1,9 @@
 package civitas.celestis;
 
 import civitas.celestis.event.lifecycle.EventManager;
+import civitas.celestis.metrics.Metrics;
+import civitas.celestis.metrics.MetricsRegistry;
+import civitas.celestis.task.lifecycle.RoundRobinScheduler;
 import civitas.celestis.task.lifecycle.Scheduler;
 import civitas.celestis.world.lifecycle.WorldManager;
 
@@ -41,6 +44,16 @@ public final class Odyssey {
         return scheduler;
     }
 
+    /**
+     * Sets the scheduler instance.
+     * This must be called before the engine is started.
+     *
+     * @param scheduler {@link Scheduler}
+     */
+    public static void setScheduler(@Nonnull Scheduler scheduler) {
+        Odyssey.scheduler = scheduler;
+    }
+
     /**
      * Gets the event manager instance.
      *
@@ -51,6 +64,16 @@ public final class Odyssey {
         return eventManager;
     }
 
+    /**
+     * Sets the event manager instance. (e.g. to configure the number of dispatch lanes)
+     * This must be called before the engine is started.
+     *
+     * @param eventManager {@link EventManager}
+     */
+    public static void setEventManager(@Nonnull EventManager eventManager) {
+        Odyssey.eventManager = eventManager;
+    }
+
     /**
      * Gets the world manager instance.
      *
@@ -61,7 +84,36 @@ public final class Odyssey {
         return worldManager;
     }
 
-    private static final Scheduler scheduler = new Scheduler();
-    private static final EventManager eventManager = new EventManager();
+    /**
+     * Gets the engine-wide metrics registry.
+     * Scheduler, event, and world metrics are recorded here while metrics are enabled.
+     *
+     * @return {@link MetricsRegistry}
+     */
+    @Nonnull
+    public static MetricsRegistry getMetrics() {
+        return Metrics.registry();
+    }
+
+    /**
+     * Checks if metrics are being recorded.
+     *
+     * @return {@code true} if metrics are enabled
+     */
+    public static boolean isMetricsEnabled() {
+        return Metrics.isEnabled();
+    }
+
+    /**
+     * Sets whether metrics are recorded. Metrics are disabled by default.
+     *
+     * @param enabled {@code true} to record metrics
+     */
+    public static void setMetricsEnabled(boolean enabled) {
+        Metrics.setEnabled(enabled);
+    }
+
+    private static Scheduler scheduler = new RoundRobinScheduler();
+    private static EventManager eventManager = new EventManager();
     private static final WorldManager worldManager = new WorldManager();
 }
@@ -9,6 +9,10 @@ import java.lang.annotation.Target;
 /**
  * <h2>EventHandler</h2>
  * <p>This annotation marks a method as an event handler.</p>
+ * <p>
+ * A handler method accepts either a single event, or a {@code List<E>} of events.
+ * List handlers are batch handlers, which receive every event of a class handled in the same batch at once.
+ * </p>
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
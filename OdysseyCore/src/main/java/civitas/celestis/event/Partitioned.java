@@ -0,0 +1,22 @@
+package civitas.celestis.event;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <h2>Partitioned</h2>
+ * <p>
+ * Partitioned events are routed to a dispatch lane by their partition key instead of by their class.
+ * Events with equal keys are always handled on the same lane, in the order they were called.
+ * Events with different keys may be handled in parallel.
+ * </p>
+ */
+public interface Partitioned extends Event {
+    /**
+     * Gets the partition key of this event. (e.g. the unique identifier of the object it concerns)
+     * The key must have a consistent {@link Object#hashCode()}.
+     *
+     * @return Partition key
+     */
+    @Nonnull
+    Object partitionKey();
+}
@@ -0,0 +1,35 @@
+package civitas.celestis.event.lifecycle;
+
+import civitas.celestis.event.Event;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * <h2>AsyncCall</h2>
+ * <p>
+ * Carries an event called by {@link EventManager#callAsync(Event)} through a dispatch lane.
+ * The lane dispatches the wrapped event, then completes the future with it.
+ * </p>
+ *
+ * @param event  Event to dispatch
+ * @param future Future to complete once every handler has been called
+ */
+record AsyncCall(
+        @Nonnull Event event,
+        @Nonnull CompletableFuture<Event> future
+) implements Event {
+    /**
+     * Dispatches the wrapped event, then completes the future.
+     *
+     * @param table Dispatch table to use
+     */
+    void dispatch(@Nonnull DispatchTable table) {
+        try {
+            table.dispatch(event);
+            future.complete(event);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package civitas.celestis.event.lifecycle;
+
+import civitas.celestis.event.Event;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <h2>Coalesced</h2>
+ * <p>
+ * Marks the queue position of a coalesced event.
+ * The event itself is kept in the pending map of its dispatch lane, keyed by this marker,
+ * so that later events of the same key can be merged into it until it is handled.
+ * </p>
+ *
+ * @param eventClass Class of the coalesced event
+ * @param key        Coalescing key of the event
+ */
+record Coalesced(
+        @Nonnull Class<? extends Event> eventClass,
+        @Nonnull Object key
+) implements Event {
+}
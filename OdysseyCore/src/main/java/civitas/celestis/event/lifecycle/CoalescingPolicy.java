@@ -0,0 +1,86 @@
+package civitas.celestis.event.lifecycle;
+
+import civitas.celestis.event.Event;
+
+import javax.annotation.Nonnull;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * <h2>CoalescingPolicy</h2>
+ * <p>
+ * Decides how events of a class are coalesced while they wait to be handled.
+ * When an event is called while another event of the same class and key is still queued,
+ * the two are merged into one, and only the result is handled.
+ * </p>
+ * <p>
+ * The coalesced event is handled at the queue position of the first event it replaced.
+ * </p>
+ *
+ * @param <E> Type of event
+ * @see EventManager#setCoalescingPolicy(Class, CoalescingPolicy)
+ */
+@FunctionalInterface
+public interface CoalescingPolicy<E extends Event> {
+    /**
+     * Creates a policy which replaces queued events with the newest event of the same key.
+     *
+     * @param key Function which extracts the coalescing key of an event
+     * @param <E> Type of event
+     * @return Coalescing policy
+     */
+    @Nonnull
+    static <E extends Event> CoalescingPolicy<E> replace(@Nonnull Function<? super E, ?> key) {
+        return key::apply;
+    }
+
+    /**
+     * Creates a policy which merges queued events with newer events of the same key.
+     *
+     * @param key    Function which extracts the coalescing key of an event
+     * @param merger Function which merges the queued event (first) with the incoming event (second)
+     * @param <E>    Type of event
+     * @return Coalescing policy
+     */
+    @Nonnull
+    static <E extends Event> CoalescingPolicy<E> merge(
+            @Nonnull Function<? super E, ?> key,
+            @Nonnull BinaryOperator<E> merger
+    ) {
+        return new CoalescingPolicy<>() {
+            @Nonnull
+            @Override
+            public Object key(@Nonnull E event) {
+                return key.apply(event);
+            }
+
+            @Nonnull
+            @Override
+            public E merge(@Nonnull E queued, @Nonnull E incoming) {
+                return merger.apply(queued, incoming);
+            }
+        };
+    }
+
+    /**
+     * Gets the coalescing key of an event. Events with equal keys are coalesced.
+     *
+     * @param event Event to get the key of
+     * @return Coalescing key
+     */
+    @Nonnull
+    Object key(@Nonnull E event);
+
+    /**
+     * Merges a queued event with an incoming event of the same key.
+     * By default, the incoming event replaces the queued event.
+     *
+     * @param queued   Event which is still queued
+     * @param incoming Event which was just called
+     * @return Event to handle in place of both
+     */
+    @Nonnull
+    default E merge(@Nonnull E queued, @Nonnull E incoming) {
+        return incoming;
+    }
+}
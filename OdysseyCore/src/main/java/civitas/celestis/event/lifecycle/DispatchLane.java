@@ -0,0 +1,157 @@
+package civitas.celestis.event.lifecycle;
+
+import civitas.celestis.event.Event;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * <h2>DispatchLane</h2>
+ * <p>
+ * A single consumer thread of an {@link EventManager}, together with its own event queue.
+ * Events on the same lane are handled one at a time, in the order they were queued.
+ * </p>
+ */
+final class DispatchLane {
+    /**
+     * The maximum number of events handled per drain of the event queue.
+     */
+    private static final int BATCH_SIZE = 256;
+
+    /**
+     * Creates a new dispatch lane.
+     *
+     * @param index    Index of this lane
+     * @param capacity Capacity of the event queue
+     * @param table    Supplier of the current dispatch table
+     * @throws IllegalArgumentException When the capacity is less than {@code 2}
+     */
+    DispatchLane(
+            @Nonnegative int index,
+            @Nonnegative int capacity,
+            @Nonnull Supplier<DispatchTable> table
+    ) throws IllegalArgumentException {
+        this.index = index;
+        this.queue = new EventQueue(capacity);
+        this.table = table;
+        this.thread = new Thread(this::process, "EventProcessThread-" + index);
+
+        queue.bind(thread);
+    }
+
+    @Nonnegative
+    private final int index;
+    @Nonnull
+    private final EventQueue queue;
+    @Nonnull
+    private final Supplier<DispatchTable> table;
+    @Nonnull
+    private final Thread thread;
+    @Nonnull
+    private final Map<Coalesced, Event> pending = new ConcurrentHashMap<>();
+
+    private volatile int peakDepth = 0;
+    private volatile long dispatched = 0;
+
+    /**
+     * Starts processing events.
+     */
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops processing events.
+     */
+    void stop() {
+        thread.interrupt();
+    }
+
+    /**
+     * Adds an event to this lane, waiting for free space while the queue is full.
+     *
+     * @param event Event to add
+     */
+    void put(@Nonnull Event event) {
+        queue.put(event);
+    }
+
+    /**
+     * Adds an event to this lane, merging it into a queued event of the same class and key if there is one.
+     *
+     * @param event  Event to add
+     * @param policy Coalescing policy of the event's class
+     */
+    @SuppressWarnings("unchecked")
+    void coalesce(@Nonnull Event event, @Nonnull CoalescingPolicy<? extends Event> policy) {
+        final CoalescingPolicy<Event> p = (CoalescingPolicy<Event>) policy;
+        final Coalesced marker = new Coalesced(event.getClass(), p.key(event));
+        final boolean[] fresh = {false};
+
+        pending.compute(marker, (k, queued) -> {
+            if (queued != null) return p.merge(queued, event);
+
+            fresh[0] = true;
+            return event;
+        });
+
+        // Only the first event of a key takes a queue slot; the rest are merged until it is drained
+        if (fresh[0]) queue.put(marker);
+    }
+
+    /**
+     * Gets the approximate number of events waiting on this lane.
+     *
+     * @return Number of queued events
+     */
+    @Nonnegative
+    int size() {
+        return queue.size();
+    }
+
+    /**
+     * Creates a snapshot of the metrics of this lane.
+     *
+     * @return Lane metrics
+     */
+    @Nonnull
+    LaneMetrics metrics() {
+        return new LaneMetrics(index, queue.size(), peakDepth, queue.capacity(), dispatched);
+    }
+
+    /**
+     * The main loop of the processing thread.
+     */
+    private void process() {
+        final Event[] batch = new Event[BATCH_SIZE];
+
+        while (!Thread.currentThread().isInterrupted()) {
+            final int depth = queue.size();
+            if (depth > peakDepth) peakDepth = depth;
+
+            final int count = queue.drain(batch);
+
+            if (count == 0) {
+                queue.await();
+                continue;
+            }
+
+            // Listeners registered mid-batch take effect from the next batch
+            final DispatchTable current = table.get();
+
+            // Swap markers for the events coalesced into them so far
+            for (int i = 0; i < count; i++) {
+                if (batch[i] instanceof Coalesced marker) batch[i] = pending.remove(marker);
+            }
+
+            current.dispatch(batch, count);
+            Arrays.fill(batch, 0, count, null);
+
+            dispatched += count; // Only written by this thread
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package civitas.celestis.event.lifecycle;
+
+import civitas.celestis.event.Event;
+import civitas.celestis.event.EventHandler;
+import civitas.celestis.event.Listener;
+import civitas.celestis.metrics.Metrics;
+import civitas.celestis.metrics.MetricsRegistry;
+import civitas.celestis.metrics.flight.EventDispatchEvent;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>DispatchTable</h2>
+ * <p>
+ * An immutable table of bound event handlers.
+ * Handler methods are discovered and bound once when a listener is registered.
+ * The handlers of each event class are resolved and sorted by priority on first use, then cached.
+ * </p>
+ * <p>
+ * Handler methods which accept a {@code List<E>} are batch handlers.
+ * They are called once per dispatched batch and event class, with every event of that class in the batch,
+ * after the individual handlers of those events have been called.
+ * </p>
+ * <p>
+ * Registering or unregistering a listener creates a new table, so readers never observe a partial update.
+ * </p>
+ */
+final class DispatchTable {
+    /**
+     * An empty dispatch table.
+     */
+    static final DispatchTable EMPTY = new DispatchTable(List.of(), List.of());
+
+    /**
+     * Metric names of dispatch time per event class, cached so that recording does not allocate.
+     */
+    private static final ClassValue<String> DISPATCH_METRICS = new ClassValue<>() {
+        @Override
+        protected String computeValue(@Nonnull Class<?> type) {
+            return "events.dispatch." + type.getName();
+        }
+    };
+
+    /**
+     * Metric names of handler time per listener class, cached so that recording does not allocate.
+     */
+    private static final ClassValue<String> HANDLER_METRICS = new ClassValue<>() {
+        @Override
+        protected String computeValue(@Nonnull Class<?> type) {
+            return "events.handler." + type.getName();
+        }
+    };
+
+    /**
+     * Creates a new dispatch table.
+     *
+     * @param handlers      List of bound handlers in order of registration
+     * @param batchHandlers List of bound batch handlers in order of registration
+     */
+    private DispatchTable(@Nonnull List<Handler> handlers, @Nonnull List<Handler> batchHandlers) {
+        this.handlers = handlers;
+        this.batchHandlers = batchHandlers;
+        this.cache = new ConcurrentHashMap<>();
+        this.batchCache = new ConcurrentHashMap<>();
+    }
+
+    @Nonnull
+    private final List<Handler> handlers;
+    @Nonnull
+    private final List<Handler> batchHandlers;
+    @Nonnull
+    private final Map<Class<?>, Handler[]> cache;
+    @Nonnull
+    private final Map<Class<?>, Handler[]> batchCache;
+
+    /**
+     * Creates a new table with the handlers of given listener added.
+     *
+     * @param listener Listener to add
+     * @return New dispatch table
+     */
+    @Nonnull
+    DispatchTable with(@Nonnull Listener listener) {
+        final List<Handler> result = new ArrayList<>(handlers);
+        final List<Handler> batchResult = new ArrayList<>(batchHandlers);
+
+        for (final Handler handler : bind(listener)) {
+            (handler.batch() ? batchResult : result).add(handler);
+        }
+
+        return new DispatchTable(List.copyOf(result), List.copyOf(batchResult));
+    }
+
+    /**
+     * Creates a new table with the handlers of given listener removed.
+     *
+     * @param listener Listener to remove
+     * @return New dispatch table
+     */
+    @Nonnull
+    DispatchTable without(@Nonnull Listener listener) {
+        final List<Handler> result = new ArrayList<>(handlers);
+        final List<Handler> batchResult = new ArrayList<>(batchHandlers);
+
+        result.removeIf(h -> h.listener().equals(listener));
+        batchResult.removeIf(h -> h.listener().equals(listener));
+
+        return new DispatchTable(List.copyOf(result), List.copyOf(batchResult));
+    }
+
+    /**
+     * Gets the handlers of given event class, sorted by priority.
+     *
+     * @param eventClass Class of event
+     * @return Array of handlers (this must not be modified)
+     */
+    @Nonnull
+    Handler[] handlers(@Nonnull Class<? extends Event> eventClass) {
+        return cache.computeIfAbsent(eventClass, c -> resolve(handlers, c));
+    }
+
+    /**
+     * Gets the batch handlers of given event class, sorted by priority.
+     *
+     * @param eventClass Class of event
+     * @return Array of batch handlers (this must not be modified)
+     */
+    @Nonnull
+    Handler[] batchHandlers(@Nonnull Class<? extends Event> eventClass) {
+        return batchCache.computeIfAbsent(eventClass, c -> resolve(batchHandlers, c));
+    }
+
+    /**
+     * Dispatches an event to every applicable handler.
+     * Batch handlers receive the event as a batch of one.
+     *
+     * @param event Event to dispatch
+     */
+    void dispatch(@Nonnull Event event) {
+        handle(event);
+
+        if (batchHandlers.isEmpty()) return;
+
+        final List<Event> batch = List.of(event);
+
+        for (Handler handler : batchHandlers(event.getClass())) {
+            handler.invokeBatch(batch);
+        }
+    }
+
+    /**
+     * Dispatches a batch of events drained from a queue.
+     * Individual handlers are called for each event in order, then batch handlers are called per event class.
+     * {@code null} entries are skipped.
+     *
+     * @param events Array of events
+     * @param count  Number of events to dispatch from the start of the array
+     */
+    void dispatch(@Nonnull Event[] events, @Nonnegative int count) {
+        for (int i = 0; i < count; i++) {
+            final Event event = events[i];
+
+            if (event instanceof AsyncCall call) {
+                // Handled as a batch of one, so the future completes after its batch handlers
+                call.dispatch(this);
+            } else if (event != null) {
+                handle(event);
+            }
+        }
+
+        if (batchHandlers.isEmpty()) return;
+
+        // Group events by class, keeping the order in which each class first appeared
+        final Map<Class<? extends Event>, List<Event>> groups = new LinkedHashMap<>();
+
+        for (int i = 0; i < count; i++) {
+            final Event event = events[i];
+            if (event == null || event instanceof AsyncCall) continue;
+            if (batchHandlers(event.getClass()).length == 0) continue;
+
+            groups.computeIfAbsent(event.getClass(), c -> new ArrayList<>()).add(event);
+        }
+
+        groups.forEach((eventClass, batch) -> {
+            final List<Event> view = Collections.unmodifiableList(batch);
+
+            for (Handler handler : batchHandlers(eventClass)) {
+                handler.invokeBatch(view);
+            }
+        });
+    }
+
+    /**
+     * Calls the individual handlers of an event in order of priority, and emits an {@link EventDispatchEvent}.
+     * While metrics are enabled, the time of each handler is recorded per listener class,
+     * and the total time is recorded per event class.
+     *
+     * @param event Event to handle
+     */
+    private void handle(@Nonnull Event event) {
+        final Handler[] handlers = handlers(event.getClass());
+        final EventDispatchEvent record = new EventDispatchEvent();
+        record.begin();
+
+        if (!Metrics.isEnabled()) {
+            for (Handler handler : handlers) {
+                handler.invoke(event);
+            }
+
+            commit(record, event, handlers);
+            return;
+        }
+
+        final MetricsRegistry metrics = Metrics.registry();
+        final long start = System.nanoTime();
+        long previous = start;
+
+        for (Handler handler : handlers) {
+            handler.invoke(event);
+
+            final long now = System.nanoTime();
+            metrics.histogram(HANDLER_METRICS.get(handler.listener().getClass())).record(now - previous);
+            previous = now;
+        }
+
+        metrics.histogram(DISPATCH_METRICS.get(event.getClass())).record(previous - start);
+        commit(record, event, handlers);
+    }
+
+    /**
+     * Commits the flight recorder event of a dispatch, if it is being recorded.
+     *
+     * @param record   Flight recorder event
+     * @param event    Dispatched event
+     * @param handlers Handlers the event was dispatched to
+     */
+    private static void commit(@Nonnull EventDispatchEvent record, @Nonnull Event event, @Nonnull Handler[] handlers) {
+        record.end();
+        if (!record.shouldCommit()) return;
+
+        record.eventType = event.getClass();
+        record.handlers = handlers.length;
+        record.commit();
+    }
+
+    /**
+     * Resolves the handlers of given event class.
+     *
+     * @param handlers   List of handlers to resolve from
+     * @param eventClass Class of event
+     * @return Array of handlers sorted by priority
+     */
+    @Nonnull
+    private static Handler[] resolve(@Nonnull List<Handler> handlers, @Nonnull Class<?> eventClass) {
+        // Sorting is stable, so handlers of equal priority keep their order of registration
+        return handlers.stream()
+                .filter(h -> h.eventClass().isAssignableFrom(eventClass))
+                .sorted(Comparator.comparing(Handler::priority))
+                .toArray(Handler[]::new);
+    }
+
+    /**
+     * Binds every handler method of given listener.
+     *
+     * @param listener Listener to bind
+     * @return List of bound handlers
+     */
+    @Nonnull
+    private static List<Handler> bind(@Nonnull Listener listener) {
+        final List<Handler> result = new ArrayList<>();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Method m : listener.getClass().getDeclaredMethods()) {
+            if (!m.isAnnotationPresent(EventHandler.class)) continue;
+            if (m.getParameterCount() != 1) continue;
+
+            final Class<?> parameter = m.getParameterTypes()[0];
+            final boolean batch = parameter == List.class;
+            final Class<?> eventClass = batch ? elementClass(m) : parameter;
+
+            if (eventClass == null || !Event.class.isAssignableFrom(eventClass)) continue;
+
+            try {
+                m.setAccessible(true);
+
+                MethodHandle handle = lookup.unreflect(m);
+                if (!Modifier.isStatic(m.getModifiers())) handle = handle.bindTo(listener);
+
+                result.add(new Handler(
+                        listener,
+                        eventClass,
+                        m.getAnnotation(EventHandler.class).priority(),
+                        handle.asType(MethodType.methodType(void.class, batch ? Object.class : Event.class)),
+                        batch
+                ));
+            } catch (IllegalAccessException | RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the element class of the {@code List<E>} parameter of a batch handler method.
+     *
+     * @param m Method to inspect
+     * @return Element class, or {@code null} if it cannot be determined
+     */
+    @Nullable
+    private static Class<?> elementClass(@Nonnull Method m) {
+        if (!(m.getGenericParameterTypes()[0] instanceof ParameterizedType type)) return null;
+
+        Type element = type.getActualTypeArguments()[0];
+
+        // Accept List<? extends E> as well as List<E>
+        if (element instanceof WildcardType wildcard) element = wildcard.getUpperBounds()[0];
+        if (element instanceof ParameterizedType parameterized) element = parameterized.getRawType();
+
+        return element instanceof Class<?> c ? c : null;
+    }
+
+    /**
+     * A bound handler method.
+     *
+     * @param listener   Listener object
+     * @param eventClass Class of event this handler accepts
+     * @param priority   Priority of this handler
+     * @param handle     Method handle bound to the listener,
+     *                   of type {@code (Event)void}, or {@code (Object)void} for batch handlers
+     * @param batch      {@code true} if this handler accepts a list of events
+     */
+    record Handler(
+            @Nonnull Listener listener,
+            @Nonnull Class<?> eventClass,
+            @Nonnull EventHandler.Priority priority,
+            @Nonnull MethodHandle handle,
+            boolean batch
+    ) {
+        /**
+         * Calls this handler.
+         * Exceptions thrown by the handler are printed and do not propagate.
+         *
+         * @param event Event to handle
+         */
+        void invoke(@Nonnull Event event) {
+            try {
+                handle.invokeExact(event);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+
+        /**
+         * Calls this batch handler.
+         * Exceptions thrown by the handler are printed and do not propagate.
+         *
+         * @param events Events to handle
+         */
+        void invokeBatch(@Nonnull List<Event> events) {
+            try {
+                handle.invokeExact((Object) events);
+            } catch (Throwable e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
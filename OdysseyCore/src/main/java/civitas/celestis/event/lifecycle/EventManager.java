@@ -1,31 +1,122 @@
 package civitas.celestis.event.lifecycle;
 
+import civitas.celestis.event.Cancellable;
 import civitas.celestis.event.Event;
-import civitas.celestis.event.EventHandler;
 import civitas.celestis.event.Listener;
+import civitas.celestis.event.Partitioned;
+import civitas.celestis.metrics.Metrics;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.*;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
 
 /**
  * <h2>EventManager</h2>
  * <p>Handles the lifecycle of events.</p>
+ * <p>
+ * Handler methods are bound when their listener is registered.
+ * Calling an event costs a single table lookup followed by direct calls to its handlers.
+ * </p>
+ * <p>
+ * Events are handled by one or more dispatch lanes, each with its own thread and lock-free ring buffer.
+ * An event is routed to a lane by its {@link Partitioned#partitionKey() partition key} if it has one,
+ * and by its class otherwise. Events of the same route are handled in the order they were called,
+ * while events of different routes may be handled in parallel.
+ * With more than one lane, listeners must therefore tolerate concurrent calls to their handlers.
+ * </p>
+ * <p>
+ * Lanes drain events in batches, and park while there are no events to handle.
+ * When a lane's buffer is full, callers wait for free space instead of dropping events.
+ * </p>
+ * <p>
+ * High-frequency event classes may opt into coalescing using {@link #setCoalescingPolicy(Class, CoalescingPolicy)},
+ * and listeners may receive every pending event of a class at once by declaring a handler over {@code List<E>}.
+ * </p>
  */
 public final class EventManager {
+    /**
+     * The default capacity of the event queue of each lane.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /**
+     * Creates a new event manager with a single lane of default capacity.
+     */
+    public EventManager() {
+        this(1, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new event manager with a single lane.
+     *
+     * @param capacity Capacity of the event queue (rounded up to a power of two)
+     * @throws IllegalArgumentException When the capacity is less than {@code 2}
+     */
+    public EventManager(@Nonnegative int capacity) throws IllegalArgumentException {
+        this(1, capacity);
+    }
+
+    /**
+     * Creates a new event manager.
+     *
+     * @param lanes    Number of dispatch lanes
+     * @param capacity Capacity of the event queue of each lane (rounded up to a power of two)
+     * @throws IllegalArgumentException When the number of lanes is less than {@code 1},
+     *                                  or the capacity is less than {@code 2}
+     */
+    public EventManager(@Nonnegative int lanes, @Nonnegative int capacity) throws IllegalArgumentException {
+        if (lanes < 1) throw new IllegalArgumentException("There must be at least one lane.");
+
+        this.lanes = new DispatchLane[lanes];
+        this.gauges = new LongSupplier[lanes];
+
+        for (int i = 0; i < lanes; i++) {
+            final DispatchLane lane = new DispatchLane(i, capacity, () -> dispatchTable);
+
+            this.lanes[i] = lane;
+            this.gauges[i] = lane::size;
+        }
+    }
+
     /**
      * Starts processing events.
+     * The depth of each lane is published as the gauge {@code events.lane.<index>.depth} while this manager runs,
+     * replacing the gauges of any other manager.
      */
     public void start() {
-        thread.start();
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i].start();
+
+            // Gauges are only read when a snapshot is taken
+            Metrics.registry().gauge(gaugeName(i), gauges[i]);
+        }
     }
 
     /**
-     * Stops processing events.
+     * Stops processing events, and unregisters the gauges of this manager.
      */
     public void stop() {
-        thread.interrupt();
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i].stop();
+            Metrics.registry().removeGauge(gaugeName(i), gauges[i]);
+        }
+    }
+
+    /**
+     * Gets the name of the depth gauge of a lane.
+     *
+     * @param lane Index of lane
+     * @return Name of gauge
+     */
+    @Nonnull
+    private static String gaugeName(int lane) {
+        return "events.lane." + lane + ".depth";
     }
 
     /**
@@ -35,16 +126,132 @@ public final class EventManager {
      * @param <E>   Type of event to call
      */
     public <E extends Event> void call(@Nonnull E event) {
-        eventQueue.add(event);
+        final CoalescingPolicy<?> policy = coalescingPolicies.get(event.getClass());
+
+        if (policy != null) {
+            lane(event).coalesce(event, policy);
+        } else {
+            lane(event).put(event);
+        }
     }
 
+    /**
+     * Calls an event, and handles it immediately on the calling thread.
+     * Handlers are called in order of priority before this method returns,
+     * so the caller may inspect the result (e.g. {@link Cancellable#isCancelled()}) right away.
+     * The event is not ordered relative to events waiting in the dispatch lanes.
+     *
+     * @param event Event to call
+     * @param <E>   Type of event to call
+     * @return The handled event
+     */
+    @Nonnull
+    public <E extends Event> E callSync(@Nonnull E event) {
+        dispatchTable.dispatch(event);
+        return event;
+    }
+
+    /**
+     * Calls an event to be handled on its dispatch lane, in order with other events of the same route.
+     * Events called this way are never coalesced. The returned future is completed with the event once its last handler has been called.
+     *
+     * @param event Event to call
+     * @param <E>   Type of event to call
+     * @return Future of the handled event
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public <E extends Event> CompletableFuture<E> callAsync(@Nonnull E event) {
+        final CompletableFuture<Event> future = new CompletableFuture<>();
+        lane(event).put(new AsyncCall(event, future));
+        return (CompletableFuture<E>) future;
+    }
+
+    //
+    // Coalescing
+    //
+
+    /**
+     * Sets the coalescing policy of an event class.
+     * Events of exactly this class which are called using {@link #call(Event)} while an event
+     * of the same class and key is still queued are merged according to the policy.
+     *
+     * @param eventClass Class of event
+     * @param policy     Coalescing policy, or {@code null} to stop coalescing events of this class
+     * @param <E>        Type of event
+     */
+    public synchronized <E extends Event> void setCoalescingPolicy(
+            @Nonnull Class<E> eventClass,
+            @Nullable CoalescingPolicy<E> policy
+    ) {
+        final Map<Class<?>, CoalescingPolicy<?>> result = new HashMap<>(coalescingPolicies);
+
+        if (policy != null) {
+            result.put(eventClass, policy);
+        } else {
+            result.remove(eventClass);
+        }
+
+        coalescingPolicies = Map.copyOf(result);
+    }
+
+    //
+    // Metrics
+    //
+
+    /**
+     * Gets the number of dispatch lanes.
+     *
+     * @return Number of lanes
+     */
+    @Nonnegative
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Gets the approximate number of events waiting to be handled across all lanes.
+     *
+     * @return Number of queued events
+     */
+    @Nonnegative
+    public int getQueueSize() {
+        int size = 0;
+
+        for (final DispatchLane lane : lanes) {
+            size += lane.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets a snapshot of the metrics of each dispatch lane.
+     *
+     * @return List of lane metrics, ordered by lane index
+     */
+    @Nonnull
+    public List<LaneMetrics> getLaneMetrics() {
+        final LaneMetrics[] metrics = new LaneMetrics[lanes.length];
+
+        for (int i = 0; i < lanes.length; i++) {
+            metrics[i] = lanes[i].metrics();
+        }
+
+        return List.of(metrics);
+    }
+
+    //
+    // Listeners
+    //
+
     /**
      * Registers a listener to this event manager.
      *
      * @param listener Listener to register
      */
-    public void registerListener(@Nonnull Listener listener) {
-        listeners.add(listener);
+    public synchronized void registerListener(@Nonnull Listener listener) {
+        dispatchTable = dispatchTable.with(listener);
     }
 
     /**
@@ -70,8 +277,8 @@ public final class EventManager {
      *
      * @param listener Listener to unregister
      */
-    public void unregisterListener(@Nonnull Listener listener) {
-        listeners.remove(listener);
+    public synchronized void unregisterListener(@Nonnull Listener listener) {
+        dispatchTable = dispatchTable.without(listener);
     }
 
     /**
@@ -92,51 +299,26 @@ public final class EventManager {
         listeners.forEach(this::unregisterListener);
     }
 
-    private final Queue<Event> eventQueue = new LinkedList<>();
-    private final List<Listener> listeners = new ArrayList<>();
-    @SuppressWarnings("BusyWait")
-    private final Thread thread = new Thread(() -> {
-        while (true) {
-            final Event event = eventQueue.poll();
-            if (event != null) {
-                final List<Handler> handlers = new ArrayList<>();
-
-                List.copyOf(listeners).forEach(l -> Arrays.stream(l.getClass().getDeclaredMethods()).forEach(m -> {
-                    if (!m.isAnnotationPresent(EventHandler.class)) return;
-                    if (m.getParameterCount() != 1) return;
-                    if (!m.getParameters()[0].getType().isAssignableFrom(event.getClass())) return;
-
-                    handlers.add(new Handler(l, m));
-                }));
-
-                // Respect priorities
-                handlers.sort(Comparator.comparing(h -> h.method().getAnnotation(EventHandler.class).priority()));
-                handlers.forEach(h -> {
-                    try {
-                        // Call handler
-                        h.method().invoke(h.listener(), event);
-                    } catch (IllegalAccessException | InvocationTargetException e) {
-                        e.printStackTrace();
-                    }
-                });
-            }
-
-            try {
-                Thread.sleep(0);
-            } catch (InterruptedException e) {
-                return;
-            }
-        }
-    }, "EventProcessThread");
+    private final DispatchLane[] lanes;
+    private final LongSupplier[] gauges; // Depth gauge of each lane, kept to unregister exactly these
+    private volatile DispatchTable dispatchTable = DispatchTable.EMPTY;
+    private volatile Map<Class<?>, CoalescingPolicy<?>> coalescingPolicies = Map.of();
 
     /**
-     * A transient data class for storing handler methods.
+     * Selects the lane an event is routed to.
      *
-     * @param listener Listener object
-     * @param method   Handler method
+     * @param event Event to route
+     * @return Dispatch lane
      */
-    private record Handler(
-            @Nonnull Listener listener,
-            @Nonnull Method method
-    ) {}
+    @Nonnull
+    private DispatchLane lane(@Nonnull Event event) {
+        if (lanes.length == 1) return lanes[0];
+
+        final int hash = event instanceof Partitioned p
+                ? p.partitionKey().hashCode()
+                : event.getClass().hashCode();
+
+        // Spread the high bits, since class hash codes tend to share low bits
+        return lanes[Math.floorMod(hash ^ (hash >>> 16), lanes.length)];
+    }
 }
@@ -0,0 +1,195 @@
+package civitas.celestis.event.lifecycle;
+
+import civitas.celestis.event.Event;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <h2>EventQueue</h2>
+ * <p>
+ * A bounded, lock-free, multi-producer single-consumer ring buffer of events.
+ * Any thread may add events, while only the consumer thread may remove them.
+ * </p>
+ * <p>
+ * Every slot carries a sequence number which tells producers and the consumer whose turn it is to use the slot.
+ * A producer claims a slot by advancing the tail, writes the event, then publishes it by advancing the sequence.
+ * </p>
+ * <p>
+ * The consumer parks when the queue is empty, and is unparked by the next producer.
+ * Producers never drop events; when the queue is full, they back off until the consumer frees a slot.
+ * </p>
+ */
+final class EventQueue {
+    /**
+     * Creates a new queue.
+     *
+     * @param capacity Capacity of this queue (rounded up to a power of two)
+     * @throws IllegalArgumentException When the capacity is less than {@code 2}
+     */
+    EventQueue(@Nonnegative int capacity) throws IllegalArgumentException {
+        if (capacity < 2) throw new IllegalArgumentException("Capacity must be at least 2.");
+
+        final int size = Integer.highestOneBit(capacity - 1) << 1;
+
+        this.buffer = new Event[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    @Nonnull
+    private final Event[] buffer;
+    @Nonnull
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // Only accessed by the consumer
+    private volatile long consumed = 0; // Published once per drained batch
+
+    @Nullable
+    private volatile Thread consumer = null;
+    private volatile boolean waiting = false;
+
+    /**
+     * Gets the capacity of this queue.
+     *
+     * @return Capacity
+     */
+    @Nonnegative
+    int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Gets the approximate number of events in this queue.
+     *
+     * @return Number of queued events
+     */
+    @Nonnegative
+    int size() {
+        return (int) Math.max(0, Math.min(buffer.length, tail.get() - consumed));
+    }
+
+    /**
+     * Sets the consumer thread of this queue. Must be called before events are drained.
+     *
+     * @param consumer Consumer thread
+     */
+    void bind(@Nonnull Thread consumer) {
+        this.consumer = consumer;
+    }
+
+    //
+    // Producers
+    //
+
+    /**
+     * Tries to add an event to this queue.
+     *
+     * @param event Event to add
+     * @return {@code true} if the event was added, {@code false} if the queue is full
+     */
+    boolean offer(@Nonnull Event event) {
+        while (true) {
+            final long t = tail.get();
+            final int index = (int) (t & mask);
+            final long difference = sequences.get(index) - t;
+
+            if (difference == 0) {
+                if (!tail.compareAndSet(t, t + 1)) continue;
+
+                buffer[index] = event;
+                sequences.set(index, t + 1); // Publish
+
+                if (waiting) {
+                    final Thread c = consumer;
+                    if (c != null) LockSupport.unpark(c);
+                }
+
+                return true;
+            }
+
+            if (difference < 0) return false; // Full
+        }
+    }
+
+    /**
+     * Adds an event to this queue, backing off while the queue is full.
+     *
+     * @param event Event to add
+     */
+    void put(@Nonnull Event event) {
+        int attempts = 0;
+
+        while (!offer(event)) {
+            if (++attempts < 64) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, 50_000);
+            }
+        }
+    }
+
+    //
+    // Consumer
+    //
+
+    /**
+     * Removes up to {@code batch.length} events from this queue.
+     * This may only be called by the consumer thread.
+     *
+     * @param batch Array to write removed events to
+     * @return Number of events removed
+     */
+    @Nonnegative
+    int drain(@Nonnull Event[] batch) {
+        int count = 0;
+
+        while (count < batch.length) {
+            final int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) break; // Not yet published
+
+            batch[count++] = buffer[index];
+            buffer[index] = null;
+
+            sequences.set(index, head + buffer.length); // Free slot for the next lap
+            head++;
+        }
+
+        if (count > 0) consumed = head;
+        return count;
+    }
+
+    /**
+     * Parks the consumer thread until an event is added, or the thread is interrupted.
+     * Returns immediately if an event is already queued.
+     * This may only be called by the consumer thread.
+     */
+    void await() {
+        waiting = true;
+
+        // Re-check after announcing, so a producer which published before the announcement is not missed
+        if (isEmpty()) LockSupport.park(this);
+
+        waiting = false;
+    }
+
+    /**
+     * Checks if the next event is not yet published.
+     * This may only be called by the consumer thread.
+     *
+     * @return {@code true} if there is nothing to drain
+     */
+    private boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+}
@@ -0,0 +1,22 @@
+package civitas.celestis.event.lifecycle;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * <h2>LaneMetrics</h2>
+ * <p>A point-in-time snapshot of the state of a dispatch lane.</p>
+ *
+ * @param lane       Index of the lane
+ * @param queueDepth Number of events waiting to be handled
+ * @param peakDepth  Highest queue depth observed by the lane since it was started
+ * @param capacity   Capacity of the lane's queue
+ * @param dispatched Number of events handled since the lane was started
+ */
+public record LaneMetrics(
+        @Nonnegative int lane,
+        @Nonnegative int queueDepth,
+        @Nonnegative int peakDepth,
+        @Nonnegative int capacity,
+        @Nonnegative long dispatched
+) {
+}
@@ -0,0 +1,141 @@
+package civitas.celestis.gui.component.viewport;
+
+import civitas.celestis.geometry.mesh.TriangleMesh;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.Vector3;
+import civitas.celestis.number.Vectors;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h2>Rasterizer</h2>
+ * <p>
+ * Draws triangle meshes using the painter's algorithm.
+ * Meshes are transformed into reusable coordinate buffers, and faces are sorted by packed primitive keys,
+ * so that a frame allocates no per-triangle objects apart from colors.
+ * </p>
+ * <p>
+ * Points are projected using the same projection as {@link Vectors#translate(Vector3, double)}.
+ * </p>
+ */
+final class Rasterizer {
+    @Nonnull
+    private double[][] buffers = new double[0][];
+    @Nonnull
+    private int[] offsets = new int[0];
+    @Nonnull
+    private long[] keys = new long[0];
+
+    private final int[] xs = new int[3];
+    private final int[] ys = new int[3];
+
+    /**
+     * Draws a list of meshes. The origin of the graphics context should be at the center of the screen.
+     *
+     * @param g           Graphics context to draw to
+     * @param meshes      List of meshes to draw
+     * @param origin      Origin of the camera
+     * @param rotation    Rotation of the camera
+     * @param inflation   Inflation of the camera
+     * @param focalLength Focal length of the camera
+     */
+    void draw(
+            @Nonnull Graphics g,
+            @Nonnull List<TriangleMesh> meshes,
+            @Nonnull Vector3 origin,
+            @Nonnull Quaternion rotation,
+            @Nonnegative double inflation,
+            @Nonnegative double focalLength
+    ) {
+        final int meshCount = meshes.size();
+
+        if (buffers.length < meshCount) buffers = Arrays.copyOf(buffers, meshCount);
+        if (offsets.length < meshCount) offsets = new int[meshCount];
+
+        // Transform every mesh into its buffer
+        int total = 0;
+
+        for (int m = 0; m < meshCount; m++) {
+            final TriangleMesh mesh = meshes.get(m);
+            buffers[m] = mesh.transform(origin, rotation, inflation, buffers[m]);
+            offsets[m] = total;
+            total += mesh.faceCount();
+        }
+
+        if (keys.length < total) keys = new long[total];
+
+        // Build sort keys from visible faces: squared distance in the high bits, face number in the low bits
+        int visible = 0;
+
+        for (int m = 0; m < meshCount; m++) {
+            final TriangleMesh mesh = meshes.get(m);
+            final double[] p = buffers[m];
+            final int[] indices = mesh.indices();
+
+            for (int f = 0; f < mesh.faceCount(); f++) {
+                final int a = indices[f * 3] * 3, b = indices[f * 3 + 1] * 3, c = indices[f * 3 + 2] * 3;
+
+                final double cz = (p[a + 2] + p[b + 2] + p[c + 2]) / 3;
+                if (cz <= 0) continue; // Behind viewport
+
+                final double cx = (p[a] + p[b] + p[c]) / 3;
+                final double cy = (p[a + 1] + p[b + 1] + p[c + 1]) / 3;
+                final float distance = (float) (cx * cx + cy * cy + cz * cz);
+
+                // Bits of non-negative floats sort in the same order as their values
+                keys[visible++] = ((long) Float.floatToIntBits(distance) << 32) | (offsets[m] + f);
+            }
+        }
+
+        Arrays.sort(keys, 0, visible);
+
+        // Draw from the furthest face to the nearest
+        int lastColor = 0;
+        Color color = null;
+
+        for (int i = visible - 1; i >= 0; i--) {
+            final int number = (int) keys[i];
+
+            int m = Arrays.binarySearch(offsets, 0, meshCount, number);
+            if (m < 0) m = -m - 2;
+
+            // Skip over empty meshes which share the same offset
+            while (m + 1 < meshCount && offsets[m + 1] == number) m++;
+
+            final TriangleMesh mesh = meshes.get(m);
+            final int f = number - offsets[m];
+            final double[] p = buffers[m];
+            final int[] indices = mesh.indices();
+
+            for (int corner = 0; corner < 3; corner++) {
+                final int index = indices[f * 3 + corner] * 3;
+                final double scale = focalLength / (focalLength + p[index + 2]);
+
+                xs[corner] = (int) Math.round(scale * p[index]);
+                ys[corner] = (int) Math.round(scale * -p[index + 1]);
+            }
+
+            final int argb = mesh.color(f);
+
+            if (color == null || argb != lastColor) {
+                color = new Color(argb, true);
+                lastColor = argb;
+            }
+
+            // Draw polygon on-screen
+            g.setColor(color);
+            g.fillPolygon(xs, ys, 3);
+
+            ////////////////////////////
+            /////////// TEMP ///////////
+            ////////////////////////////
+
+            g.setColor(Color.BLACK);
+            g.drawPolygon(xs, ys, 3);
+        }
+    }
+}
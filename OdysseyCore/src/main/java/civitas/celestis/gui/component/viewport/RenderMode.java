@@ -0,0 +1,17 @@
+package civitas.celestis.gui.component.viewport;
+
+/**
+ * <h2>RenderMode</h2>
+ * <p>Determines how a {@link Viewport} draws its scene.</p>
+ */
+public enum RenderMode {
+    /**
+     * Projects every vertex onto the screen and fills them back to front.
+     */
+    RASTERIZE,
+
+    /**
+     * Shoots a primary ray through every pixel, tracing tiles of the screen in parallel.
+     */
+    RAY_TRACE
+}
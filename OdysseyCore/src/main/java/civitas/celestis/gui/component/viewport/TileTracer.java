@@ -0,0 +1,242 @@
+package civitas.celestis.gui.component.viewport;
+
+import civitas.celestis.geometry.vertex.Vertex;
+import civitas.celestis.graphics.BoundingVolumeHierarchy;
+import civitas.celestis.graphics.Scene;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.Vector3;
+import civitas.celestis.number.Vectors;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.stream.IntStream;
+
+/**
+ * <h2>TileTracer</h2>
+ * <p>
+ * Ray traces a scene into an integer framebuffer. The screen is split into square tiles,
+ * which are traced in parallel on the common fork-join pool.
+ * </p>
+ * <p>
+ * Primary rays invert the projection of {@link Vectors#translate(Vector3, double)}.
+ * The eye sits at {@code -focalLength} on the Z axis of the camera, and the screen lies on the plane {@code z = 0}.
+ * </p>
+ * <p>
+ * When progressive refinement is enabled, a moving camera is traced at a coarse resolution,
+ * and the resolution is doubled every frame the camera stays still until every pixel is traced.
+ * </p>
+ */
+final class TileTracer {
+    /**
+     * Size of the coarsest sampling block used by progressive refinement.
+     */
+    static final int COARSEST_BLOCK = 8;
+
+    /**
+     * Color of rays which do not hit anything.
+     */
+    private static final int BACKGROUND = Color.WHITE.getRGB();
+
+    @Nullable
+    private BufferedImage image = null;
+    @Nonnull
+    private int[] pixels = new int[0];
+
+    @Nullable
+    private Camera lastCamera = null;
+    private int blockSize = COARSEST_BLOCK;
+
+    /**
+     * Gets the framebuffer of the last traced frame.
+     *
+     * @return Framebuffer image, {@code null} if nothing has been traced yet
+     */
+    @Nullable
+    BufferedImage image() {
+        return image;
+    }
+
+    /**
+     * Traces a frame.
+     *
+     * @param scene       Scene to trace
+     * @param origin      Origin of the camera
+     * @param rotation    Rotation of the camera
+     * @param focalLength Focal length of the camera
+     * @param inflation   Inflation of the camera
+     * @param width       Width of the frame
+     * @param height      Height of the frame
+     * @param tileSize    Side length of a tile in pixels
+     * @param reflections Maximum number of reflections per primary ray
+     * @param progressive Whether to refine the image progressively while the camera moves
+     */
+    void trace(
+            @Nonnull Scene scene,
+            @Nonnull Vector3 origin,
+            @Nonnull Quaternion rotation,
+            @Nonnegative double focalLength,
+            @Nonnegative double inflation,
+            @Nonnegative int width,
+            @Nonnegative int height,
+            @Nonnegative int tileSize,
+            @Nonnegative int reflections,
+            boolean progressive
+    ) {
+        if (width == 0 || height == 0) return;
+
+        // Resize framebuffer
+        if (image == null || image.getWidth() != width || image.getHeight() != height) {
+            image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            lastCamera = null;
+        }
+
+        // Progressive refinement
+        final Camera camera = new Camera(origin, rotation, focalLength, inflation);
+
+        if (!progressive) {
+            blockSize = 1;
+        } else if (!camera.equals(lastCamera)) {
+            blockSize = COARSEST_BLOCK;
+        } else if (blockSize > 1) {
+            blockSize /= 2;
+        }
+
+        lastCamera = camera;
+
+        // Camera basis in world space
+        final Quaternion inverse = rotation.conjugate();
+        final Vector3 right = Vector3.POSITIVE_X.rotate(inverse);
+        final Vector3 up = Vector3.POSITIVE_Y.rotate(inverse);
+        final Vector3 forward = Vector3.POSITIVE_Z.rotate(inverse);
+        final Vector3 eye = origin.add(forward.multiply(-focalLength / inflation));
+
+        final BoundingVolumeHierarchy hierarchy = scene.getHierarchy();
+        final int columns = (width + tileSize - 1) / tileSize;
+        final int rows = (height + tileSize - 1) / tileSize;
+        final int block = blockSize;
+        final int[] pixels = this.pixels;
+
+        IntStream.range(0, columns * rows).parallel().forEach(tile -> {
+            final int x0 = (tile % columns) * tileSize;
+            final int y0 = (tile / columns) * tileSize;
+            final int x1 = Math.min(x0 + tileSize, width);
+            final int y1 = Math.min(y0 + tileSize, height);
+
+            final double[] distance = new double[1];
+
+            for (int y = y0; y < y1; y += block) {
+                for (int x = x0; x < x1; x += block) {
+                    // Screen coordinates relative to the center (Y axis points down on screen)
+                    final double sx = x + 0.5 - width / 2d;
+                    final double sy = height / 2d - (y + 0.5);
+
+                    final double dx = right.x() * sx + up.x() * sy + forward.x() * focalLength;
+                    final double dy = right.y() * sx + up.y() * sy + forward.y() * focalLength;
+                    final double dz = right.z() * sx + up.z() * sy + forward.z() * focalLength;
+                    final double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+
+                    final int color = shade(
+                            hierarchy,
+                            eye.x(), eye.y(), eye.z(),
+                            dx / length, dy / length, dz / length,
+                            null, reflections, distance
+                    );
+
+                    // Fill the sampling block, clipped to the tile
+                    final int bx = Math.min(x + block, x1);
+                    final int by = Math.min(y + block, y1);
+
+                    for (int py = y; py < by; py++) {
+                        for (int px = x; px < bx; px++) {
+                            pixels[py * width + px] = color;
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Computes the color seen along a ray.
+     *
+     * @param hierarchy   Hierarchy to query
+     * @param ox          X value of origin
+     * @param oy          Y value of origin
+     * @param oz          Z value of origin
+     * @param dx          X value of unit direction
+     * @param dy          Y value of unit direction
+     * @param dz          Z value of unit direction
+     * @param exclude     Vertex to ignore
+     * @param reflections Remaining number of reflections
+     * @param distance    Scratch array for hit distances
+     * @return Packed RGB color
+     */
+    private static int shade(
+            @Nonnull BoundingVolumeHierarchy hierarchy,
+            double ox, double oy, double oz,
+            double dx, double dy, double dz,
+            @Nullable Vertex exclude,
+            int reflections,
+            @Nonnull double[] distance
+    ) {
+        final int index = hierarchy.nearest(ox, oy, oz, dx, dy, dz, exclude, distance);
+        if (index < 0) return BACKGROUND;
+
+        final Vertex v = hierarchy.vertex(index);
+        final int base = v.color().getRGB();
+        final double reflectiveness = Math.min(1, v.reflectiveness());
+
+        if (reflections == 0 || reflectiveness <= 0) return base;
+
+        // Trace the reflected ray and blend it with the surface color
+        final double t = distance[0];
+        final Vector3 reflected = Vectors.reflection(new Vector3(dx, dy, dz), v.normal().normalize()).normalize();
+
+        final int mirror = shade(
+                hierarchy,
+                ox + dx * t, oy + dy * t, oz + dz * t,
+                reflected.x(), reflected.y(), reflected.z(),
+                v, reflections - 1, distance
+        );
+
+        return blend(base, mirror, reflectiveness);
+    }
+
+    /**
+     * Linearly blends two packed RGB colors.
+     *
+     * @param a      First color
+     * @param b      Second color
+     * @param weight Weight of the second color
+     * @return Blended color
+     */
+    private static int blend(int a, int b, double weight) {
+        final double w = 1 - weight;
+
+        final int r = (int) (((a >> 16) & 0xFF) * w + ((b >> 16) & 0xFF) * weight);
+        final int g = (int) (((a >> 8) & 0xFF) * w + ((b >> 8) & 0xFF) * weight);
+        final int bl = (int) ((a & 0xFF) * w + (b & 0xFF) * weight);
+
+        return (r << 16) | (g << 8) | bl;
+    }
+
+    /**
+     * The state of a camera, used to detect movement between frames.
+     *
+     * @param origin      Origin of camera
+     * @param rotation    Rotation of camera
+     * @param focalLength Focal length of camera
+     * @param inflation   Inflation of camera
+     */
+    private record Camera(
+            @Nonnull Vector3 origin,
+            @Nonnull Quaternion rotation,
+            double focalLength,
+            double inflation
+    ) {}
+}
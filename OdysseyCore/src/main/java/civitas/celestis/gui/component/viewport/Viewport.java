@@ -1,12 +1,16 @@
 package civitas.celestis.gui.component.viewport;
 
+import civitas.celestis.geometry.mesh.Icosphere;
+import civitas.celestis.geometry.mesh.TriangleMesh;
 import civitas.celestis.geometry.ray.LightRay;
 import civitas.celestis.geometry.ray.Ray;
-import civitas.celestis.graphics.PolygonX;
+import civitas.celestis.geometry.solid.BoundingBox;
+import civitas.celestis.geometry.vertex.Vertex;
 import civitas.celestis.graphics.Scene;
+import civitas.celestis.metrics.flight.FrameEvent;
 import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.RotationMatrix;
 import civitas.celestis.number.Vector3;
-import civitas.celestis.number.Vectors;
 import civitas.celestis.object.BaseObject;
 import civitas.celestis.object.TangibleObject;
 import civitas.celestis.world.World;
@@ -15,6 +19,7 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -77,17 +82,53 @@ public class Viewport extends JPanel {
         // Prevent modification of scene while painting
         if (painting) return;
 
+        final FrameEvent frame = new FrameEvent();
+        frame.begin();
+
         // Clear scene
         scene.clear();
 
-        // Add object vertices
-        world.getObjects(TangibleObject.class).forEach(o -> scene.addVertices(o.getSolid().vertices()));
+        // Add object meshes (instanced, since lighting modifies the colors of the scene)
+        final RotationMatrix view = rotation.matrix();
+        world.getObjects(TangibleObject.class).forEach(o -> scene.addMesh(o.getMesh(levelOfDetail(o, view)).instance()));
 
         // Handle lighting
         final Ray test = new LightRay(Vector3.ZERO, Vector3.POSITIVE_Z, 10);
         for (int i = 0; i < 10; i++) {
             scene.shootRay(test, 1);
         }
+
+        // Trace framebuffer
+        if (renderMode == RenderMode.RAY_TRACE) {
+            tracer.trace(
+                    scene, origin, rotation, focalLength, inflation,
+                    getWidth(), getHeight(), tileSize, reflectionLimit, progressive
+            );
+        }
+
+        commit(frame, "render");
+    }
+
+    /**
+     * Selects the level of detail of an object from its projected size on screen.
+     *
+     * @param object Object to select the level of detail of
+     * @param view   Rotation matrix of this viewport
+     * @return Level of detail
+     */
+    protected int levelOfDetail(@Nonnull TangibleObject object, @Nonnull RotationMatrix view) {
+        final BoundingBox box = object.getSolid().boundingBox();
+
+        double radius = 0;
+        for (int axis = 0; axis < 3; axis++) {
+            radius = Math.max(radius, (box.maximum(axis) - box.minimum(axis)) / 2);
+        }
+
+        // Depth of the object's center in the inflated camera space
+        final double depth = view.rotate(box.center().subtract(origin)).z() * inflation;
+        if (focalLength + depth <= 0) return 0; // Behind viewport
+
+        return Icosphere.level(focalLength / (focalLength + depth) * radius * inflation);
     }
 
     /**
@@ -103,6 +144,25 @@ public class Viewport extends JPanel {
         // Mark state as painting
         painting = true;
 
+        final FrameEvent event = new FrameEvent();
+        event.begin();
+
+        // Blit traced framebuffer
+        if (renderMode == RenderMode.RAY_TRACE) {
+            final BufferedImage frame = tracer.image();
+
+            if (frame != null) {
+                g.drawImage(frame, 0, 0, null);
+            } else {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, getWidth(), getHeight());
+            }
+
+            commit(event, "paint");
+            painting = false;
+            return;
+        }
+
         // Clear screen
         g.setColor(Color.WHITE);
         g.fillRect(0, 0, getWidth(), getHeight());
@@ -110,35 +170,43 @@ public class Viewport extends JPanel {
         // Move origin to center
         g.translate(getWidth() / 2, getHeight() / 2);
 
-        // Draw vertices
-        scene.getVertices(origin, rotation, inflation)
-                // Filter out vertices behind viewport
-                .filter(v -> v.centroid().z() > 0)
-
-                // Sort by distance from origin descending
-                .sorted((v1, v2) -> Double.compare(v2.centroid().magnitude2(), v1.centroid().magnitude2()))
+        // Draw meshes, packing loose vertices into a temporary mesh
+        final List<TriangleMesh> meshes = scene.getMeshes();
+        final List<Vertex> vertices = scene.getVertices();
+        if (!vertices.isEmpty()) meshes.add(TriangleMesh.of(vertices));
 
-                // Loop through sorted vertices
-                .forEach(v -> {
-                    // Create polygon object
-                    final PolygonX polygon = new PolygonX();
-                    v.forEach(p -> polygon.addPoint(Vectors.translate(p, focalLength)));
+        rasterizer.draw(g, meshes, origin, rotation, inflation, focalLength);
+        commit(event, "paint");
 
-                    // Draw polygon on-screen
-                    g.setColor(v.color());
-                    g.fillPolygon(polygon);
+        // Mark state as not painting
+        painting = false;
+    }
 
-                    ////////////////////////////
-                    /////////// TEMP ///////////
-                    ////////////////////////////
+    /**
+     * Commits the flight recorder event of a frame, if it is being recorded.
+     *
+     * @param frame Flight recorder event
+     * @param phase Phase of the frame (either {@code render} or {@code paint})
+     */
+    private void commit(@Nonnull FrameEvent frame, @Nonnull String phase) {
+        frame.end();
+        if (!frame.shouldCommit()) return;
 
-                    g.setColor(Color.BLACK);
-                    g.drawPolygon(polygon);
-                });
+        final List<TriangleMesh> meshes = scene.getMeshes();
 
+        int vertices = scene.getVertices().size();
+        for (TriangleMesh mesh : meshes) {
+            vertices += mesh.faceCount();
+        }
 
-        // Mark state as not painting
-        painting = false;
+        frame.phase = phase;
+        frame.mode = renderMode.name();
+        frame.world = world.getName();
+        frame.meshes = meshes.size();
+        frame.vertices = vertices;
+        frame.width = getWidth();
+        frame.height = getHeight();
+        frame.commit();
     }
 
     //
@@ -162,6 +230,25 @@ public class Viewport extends JPanel {
     protected double focalLength;
     @Nonnegative
     protected double inflation;
+    @Nonnull
+    protected RenderMode renderMode = RenderMode.RASTERIZE;
+    @Nonnegative
+    protected int tileSize = 32;
+    @Nonnegative
+    protected int reflectionLimit = 1;
+    protected boolean progressive = false;
+
+    //
+    // Ray tracing
+    //
+    @Nonnull
+    private final TileTracer tracer = new TileTracer();
+
+    //
+    // Rasterization
+    //
+    @Nonnull
+    private final Rasterizer rasterizer = new Rasterizer();
 
     //
     // Markers
@@ -242,6 +329,45 @@ public class Viewport extends JPanel {
         return inflation;
     }
 
+    /**
+     * Gets the render mode of this viewport.
+     *
+     * @return Render mode
+     */
+    @Nonnull
+    public RenderMode getRenderMode() {
+        return renderMode;
+    }
+
+    /**
+     * Gets the side length of the tiles traced in parallel.
+     *
+     * @return Tile size in pixels
+     */
+    @Nonnegative
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Gets the maximum number of reflections traced per pixel.
+     *
+     * @return Reflection limit
+     */
+    @Nonnegative
+    public int getReflectionLimit() {
+        return reflectionLimit;
+    }
+
+    /**
+     * Checks if progressive refinement is enabled.
+     *
+     * @return {@code true} if a moving camera is traced at a reduced resolution
+     */
+    public boolean isProgressive() {
+        return progressive;
+    }
+
     /**
      * Adds an object to the hidden objects list.
      *
@@ -302,4 +428,44 @@ public class Viewport extends JPanel {
     public void setInflation(@Nonnegative double inflation) {
         this.inflation = inflation;
     }
+
+    /**
+     * Sets the render mode of this viewport.
+     *
+     * @param renderMode Render mode
+     */
+    public void setRenderMode(@Nonnull RenderMode renderMode) {
+        this.renderMode = renderMode;
+    }
+
+    /**
+     * Sets the side length of the tiles traced in parallel.
+     *
+     * @param tileSize Tile size in pixels
+     * @throws IllegalArgumentException When the tile size is less than {@code 1}
+     */
+    public void setTileSize(@Nonnegative int tileSize) throws IllegalArgumentException {
+        if (tileSize < 1) throw new IllegalArgumentException("Tile size must be at least 1.");
+        this.tileSize = tileSize;
+    }
+
+    /**
+     * Sets the maximum number of reflections traced per pixel.
+     *
+     * @param reflectionLimit Reflection limit
+     */
+    public void setReflectionLimit(@Nonnegative int reflectionLimit) {
+        this.reflectionLimit = reflectionLimit;
+    }
+
+    /**
+     * Sets whether progressive refinement is enabled.
+     * When enabled, the frame is traced at one sample per {@code 8x8} block while the camera moves,
+     * and the resolution doubles on every frame the camera stays still.
+     *
+     * @param progressive {@code true} to enable progressive refinement
+     */
+    public void setProgressive(boolean progressive) {
+        this.progressive = progressive;
+    }
 }
@@ -0,0 +1,95 @@
+package civitas.celestis.task.lifecycle;
+
+import civitas.celestis.task.Task;
+import civitas.celestis.util.Counter;
+
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h2>RoundRobinScheduler</h2>
+ * <p>
+ * The default implementation of {@link Scheduler}.
+ * Each task is pinned to one of a fixed number of cores, which are assigned in round-robin order.
+ * </p>
+ */
+public final class RoundRobinScheduler implements Scheduler {
+    /**
+     * Creates a new scheduler with eight cores.
+     */
+    public RoundRobinScheduler() {
+        this(8);
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param cores Number of cores to use
+     * @throws IllegalArgumentException When the number of cores is less than one
+     */
+    public RoundRobinScheduler(int cores) throws IllegalArgumentException {
+        if (cores < 1) throw new IllegalArgumentException("A scheduler requires at least one core.");
+
+        this.cores = new SchedulerCore[cores];
+        Arrays.setAll(this.cores, i -> new SchedulerCore(1));
+        this.distributor = new Counter(cores);
+    }
+
+    @Override
+    public void start() {
+        Arrays.stream(cores).forEach(SchedulerCore::start);
+    }
+
+    @Override
+    public void stop() {
+        Arrays.stream(cores).forEach(SchedulerCore::stop);
+    }
+
+    @Override
+    public void registerTask(@Nonnull Task task) {
+        cores[distributor.get()].registerTask(task);
+    }
+
+    /**
+     * Registers multiple tasks to this scheduler.
+     * All given tasks will be registered to a single thread.
+     *
+     * @param tasks Tasks to register
+     */
+    @Override
+    public void registerTasks(@Nonnull Task... tasks) {
+        final int index = distributor.get();
+        Arrays.stream(tasks).forEach(t -> cores[index].registerTask(t));
+    }
+
+    /**
+     * Registers multiple tasks to this scheduler.
+     * All given tasks will be registered to a single thread.
+     *
+     * @param tasks List of tasks to register
+     */
+    @Override
+    public void registerTasks(@Nonnull List<Task> tasks) {
+        final int index = distributor.get();
+        tasks.forEach(t -> cores[index].registerTask(t));
+    }
+
+    @Override
+    public void unregisterTask(@Nonnull Task task) {
+        Arrays.stream(cores).forEach(c -> c.unregisterTask(task));
+    }
+
+    @Override
+    public void unregisterTasks(@Nonnull Task... tasks) {
+        Arrays.stream(tasks).forEach(this::unregisterTask);
+    }
+
+    @Override
+    public void unregisterTasks(@Nonnull List<Task> tasks) {
+        tasks.forEach(this::unregisterTask);
+    }
+
+    private final SchedulerCore[] cores;
+    private final Counter distributor;
+}
@@ -0,0 +1,158 @@
+package civitas.celestis.task.lifecycle;
+
+import civitas.celestis.metrics.flight.TaskRunEvent;
+import civitas.celestis.task.Task;
+import org.joda.time.Duration;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <h2>ScheduledTask</h2>
+ * <p>
+ * An internal record of a registered task.
+ * Times are measured using {@link System#nanoTime()}.
+ * </p>
+ * <p>
+ * Deadlines lie on a fixed grid of the task's interval, so a late execution does not delay later ones.
+ * A task which falls more than one interval behind skips to the next grid point after the current time.
+ * Immediate tasks have no grid, and are instead spaced by a minimum gap so they do not spin.
+ * </p>
+ */
+final class ScheduledTask implements Comparable<ScheduledTask> {
+    /**
+     * Creates a new scheduled task.
+     * The first execution is due one interval after registration.
+     *
+     * @param task       Task to schedule
+     * @param now        Time of registration
+     * @param minimumGap Minimum time between two executions of an immediate task in nanoseconds
+     */
+    ScheduledTask(@Nonnull Task task, long now, @Nonnegative long minimumGap) {
+        this.task = task;
+        this.minimumGap = minimumGap;
+        this.previous = now;
+        this.deadline = now;
+        schedule(now);
+    }
+
+    @Nonnull
+    private final Task task;
+    private final long minimumGap;
+    private long previous;
+    private long deadline;
+    private volatile boolean cancelled = false;
+    private int worker = -1;
+
+    /**
+     * Gets the task of this record.
+     *
+     * @return Task
+     */
+    @Nonnull
+    Task task() {
+        return task;
+    }
+
+    /**
+     * Gets the time at which this task is next due.
+     *
+     * @return Deadline
+     */
+    long deadline() {
+        return deadline;
+    }
+
+    /**
+     * Gets the index of the worker which last executed this task.
+     *
+     * @return Index of worker, or {@code -1} if this task has not been executed yet
+     */
+    int worker() {
+        return worker;
+    }
+
+    /**
+     * Sets the index of the worker which last executed this task.
+     *
+     * @param worker Index of worker
+     */
+    void worker(int worker) {
+        this.worker = worker;
+    }
+
+    /**
+     * Checks if this task has been unregistered.
+     *
+     * @return {@code true} if this task has been cancelled
+     */
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Marks this task as unregistered. Cancelled tasks are not rescheduled.
+     */
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Executes the task, then computes the next deadline.
+     * Exceptions thrown by the task are printed and do not propagate.
+     * The delta passed to the task is truncated to whole milliseconds, and the remainder
+     * is carried into the next execution, so the deltas of a task add up to the time which has passed.
+     *
+     * @param now Current time
+     */
+    void execute(long now) {
+        final Duration delta = new Duration(TimeUnit.NANOSECONDS.toMillis(now - previous));
+        final TaskRunEvent event = new TaskRunEvent();
+        event.begin();
+
+        try {
+            task.execute(delta);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.task = task.getClass();
+            event.lateness = now - deadline;
+            event.commit();
+        }
+
+        // Only consume the whole milliseconds which were passed to the task
+        previous += TimeUnit.MILLISECONDS.toNanos(delta.getMillis());
+        schedule(now);
+    }
+
+    /**
+     * Advances the deadline to the next point of the grid.
+     *
+     * @param now Time of the previous execution, or of registration
+     */
+    private void schedule(long now) {
+        final long interval = TimeUnit.MILLISECONDS.toNanos(task.getInterval().getMillis());
+
+        if (interval <= 0) {
+            // Immediate tasks have no grid
+            deadline = now + minimumGap;
+            return;
+        }
+
+        deadline += interval;
+
+        // More than one interval behind; skip to the next grid point after now
+        final long behind = now - deadline;
+        if (behind >= interval) deadline += (behind / interval + 1) * interval;
+    }
+
+    @Override
+    public int compareTo(@Nonnull ScheduledTask other) {
+        return Long.compare(deadline, other.deadline);
+    }
+}
@@ -1,58 +1,126 @@
 package civitas.celestis.task.lifecycle;
 
+import civitas.celestis.metrics.Metrics;
+import civitas.celestis.metrics.MetricsRegistry;
 import civitas.celestis.task.Task;
-import org.joda.time.DateTime;
-import org.joda.time.Duration;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * <h2>SchedulerCore</h2>
  * <p>An internal core of a scheduler.</p>
+ * <p>
+ * Tasks are kept in a queue ordered by their next deadline.
+ * The thread of this core sleeps until the earliest deadline, or until a task is registered,
+ * so an idle core costs nothing.
+ * </p>
  */
 final class SchedulerCore {
-    @SuppressWarnings("BusyWait")
+    /**
+     * Creates a new core.
+     *
+     * @param accuracy Minimum time between two executions of an immediate task in milliseconds
+     */
     public SchedulerCore(@Nonnegative long accuracy) {
-        this.tasks = new ArrayList<>();
-        this.executionTimes = new HashMap<>();
-        this.thread = new Thread(() -> {
-            while (true) {
-                List.copyOf(tasks).forEach(t -> {
-                    // Cache current time for consistency
-                    final DateTime now = DateTime.now();
-                    final DateTime previous = executionTimes.getOrDefault(t, now);
-                    final Duration delta = new Duration(previous, now);
+        this.minimumGap = TimeUnit.MILLISECONDS.toNanos(accuracy);
 
-                    // Respect interval
-                    if (delta.isShorterThan(t.getInterval())) return;
+        final int id = ids.getAndIncrement();
+        this.executionMetric = "scheduler.core." + id + ".execution";
+        this.latenessMetric = "scheduler.core." + id + ".lateness";
 
-                    // Execute task and keep time
-                    t.execute(delta);
-                    executionTimes.put(t, now);
-                });
+        this.queue = new PriorityQueue<>();
+        this.entries = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.signal = lock.newCondition();
+        this.thread = new Thread(() -> {
+            while (true) {
+                final ScheduledTask next;
 
                 try {
-                    Thread.sleep(accuracy);
+                    next = awaitNext();
                 } catch (InterruptedException e) {
                     return;
                 }
+
+                // Execute task outside the lock so registration is never blocked
+                final long now = System.nanoTime();
+
+                if (Metrics.isEnabled()) {
+                    final MetricsRegistry metrics = Metrics.registry();
+                    metrics.histogram(latenessMetric).record(now - next.deadline());
+
+                    next.execute(now);
+                    metrics.histogram(executionMetric).record(System.nanoTime() - now);
+                } else {
+                    next.execute(now);
+                }
+
+                lock.lock();
+                try {
+                    if (!next.isCancelled()) queue.add(next);
+                } finally {
+                    lock.unlock();
+                }
             }
         }, "SchedulerCore");
     }
 
+    /**
+     * Waits until the earliest deadline, then removes and returns its task.
+     *
+     * @return Task which is due
+     * @throws InterruptedException When this core has been stopped
+     */
+    @Nonnull
+    private ScheduledTask awaitNext() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                final ScheduledTask head = queue.peek();
+
+                if (head == null) {
+                    signal.await();
+                    continue;
+                }
+
+                final long remaining = head.deadline() - System.nanoTime();
+                if (remaining <= 0) return queue.poll();
+
+                signal.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
     /**
      * Registers a task to this core.
+     * Registering a task which is already registered has no effect.
      *
      * @param task Task to register
      */
     public void registerTask(@Nonnull Task task) {
-        tasks.add(task);
-        executionTimes.put(task, DateTime.now());
+        lock.lock();
+        try {
+            if (entries.containsKey(task)) return;
+
+            final ScheduledTask entry = new ScheduledTask(task, System.nanoTime(), minimumGap);
+            entries.put(task, entry);
+            queue.add(entry);
+
+            // Wake the thread in case the new task is due earlier
+            signal.signal();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -61,8 +129,16 @@ final class SchedulerCore {
      * @param task Task to unregister
      */
     public void unregisterTask(@Nonnull Task task) {
-        tasks.remove(task);
-        executionTimes.remove(task);
+        lock.lock();
+        try {
+            final ScheduledTask entry = entries.remove(task);
+            if (entry == null) return;
+
+            entry.cancel();
+            queue.remove(entry);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -79,7 +155,14 @@ final class SchedulerCore {
         thread.interrupt();
     }
 
-    private final List<Task> tasks;
-    private final Map<Task, DateTime> executionTimes;
+    private static final AtomicInteger ids = new AtomicInteger();
+
+    private final long minimumGap;
+    private final String executionMetric;
+    private final String latenessMetric;
+    private final PriorityQueue<ScheduledTask> queue;
+    private final Map<Task, ScheduledTask> entries;
+    private final ReentrantLock lock;
+    private final Condition signal;
     private final Thread thread;
 }
@@ -0,0 +1,359 @@
+package civitas.celestis.task.lifecycle;
+
+import civitas.celestis.metrics.Metrics;
+import civitas.celestis.metrics.MetricsRegistry;
+import civitas.celestis.task.Task;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <h2>WorkStealingScheduler</h2>
+ * <p>
+ * A scheduler which balances tasks across a pool of worker threads.
+ * </p>
+ * <p>
+ * A timer thread waits for the earliest deadline, then pushes the due task to the deque of
+ * the worker which last executed it. Each worker takes tasks from the head of its own deque,
+ * and steals from the tail of other deques when its own is empty.
+ * A single heavy task therefore only occupies one worker, while the tasks queued behind it migrate to idle workers.
+ * </p>
+ * <p>
+ * A task is never executed by two workers at once.
+ * </p>
+ */
+public final class WorkStealingScheduler implements Scheduler {
+    /**
+     * Creates a new scheduler with one worker per available processor.
+     */
+    public WorkStealingScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param parallelism Number of worker threads
+     * @throws IllegalArgumentException When the number of workers is less than one
+     */
+    public WorkStealingScheduler(int parallelism) throws IllegalArgumentException {
+        this(parallelism, 1);
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param parallelism Number of worker threads
+     * @param accuracy    Minimum time between two executions of an immediate task in milliseconds
+     * @throws IllegalArgumentException When the number of workers is less than one
+     */
+    public WorkStealingScheduler(int parallelism, @Nonnegative long accuracy) throws IllegalArgumentException {
+        if (parallelism < 1) throw new IllegalArgumentException("A scheduler requires at least one worker.");
+
+        this.minimumGap = TimeUnit.MILLISECONDS.toNanos(accuracy);
+        this.queue = new PriorityQueue<>();
+        this.entries = new HashMap<>();
+        this.lock = new ReentrantLock();
+        this.signal = lock.newCondition();
+        this.workers = new Worker[parallelism];
+        Arrays.setAll(workers, Worker::new);
+        this.timer = new Thread(() -> {
+            while (true) {
+                try {
+                    dispatch(awaitNext());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "SchedulerTimer");
+    }
+
+    @Override
+    public void start() {
+        Arrays.stream(workers).forEach(w -> w.thread.start());
+        timer.start();
+    }
+
+    @Override
+    public void stop() {
+        timer.interrupt();
+        Arrays.stream(workers).forEach(w -> w.thread.interrupt());
+    }
+
+    /**
+     * Registers a task to this scheduler.
+     * Registering a task which is already registered has no effect.
+     *
+     * @param task Task to register
+     */
+    @Override
+    public void registerTask(@Nonnull Task task) {
+        lock.lock();
+        try {
+            if (entries.containsKey(task)) return;
+
+            final ScheduledTask entry = new ScheduledTask(task, System.nanoTime(), minimumGap);
+            entries.put(task, entry);
+            queue.add(entry);
+
+            signal.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void registerTasks(@Nonnull Task... tasks) {
+        Arrays.stream(tasks).forEach(this::registerTask);
+    }
+
+    @Override
+    public void registerTasks(@Nonnull List<Task> tasks) {
+        tasks.forEach(this::registerTask);
+    }
+
+    @Override
+    public void unregisterTask(@Nonnull Task task) {
+        lock.lock();
+        try {
+            final ScheduledTask entry = entries.remove(task);
+            if (entry == null) return;
+
+            entry.cancel();
+            queue.remove(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void unregisterTasks(@Nonnull Task... tasks) {
+        Arrays.stream(tasks).forEach(this::unregisterTask);
+    }
+
+    @Override
+    public void unregisterTasks(@Nonnull List<Task> tasks) {
+        tasks.forEach(this::unregisterTask);
+    }
+
+    /**
+     * Gets the number of worker threads of this scheduler.
+     *
+     * @return Number of workers
+     */
+    public int getParallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Gets a snapshot of the load of each worker thread.
+     *
+     * @return List of worker statistics, in order of worker index
+     */
+    @Nonnull
+    public List<WorkerStatistics> getStatistics() {
+        final List<WorkerStatistics> statistics = new ArrayList<>(workers.length);
+
+        for (Worker w : workers) {
+            statistics.add(new WorkerStatistics(w.index, w.executed, w.stolen, w.busyTime, w.deque.size()));
+        }
+
+        return statistics;
+    }
+
+    //
+    // Internal
+    //
+
+    /**
+     * Waits until the earliest deadline, then removes and returns its task.
+     *
+     * @return Task which is due
+     * @throws InterruptedException When this scheduler has been stopped
+     */
+    @Nonnull
+    private ScheduledTask awaitNext() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (true) {
+                final ScheduledTask head = queue.peek();
+
+                if (head == null) {
+                    signal.await();
+                    continue;
+                }
+
+                final long remaining = head.deadline() - System.nanoTime();
+                if (remaining <= 0) return queue.poll();
+
+                signal.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pushes a due task to a worker.
+     * The worker which last executed the task is preferred, unless it is busy while another worker is idle.
+     *
+     * @param entry Task to dispatch
+     */
+    private void dispatch(@Nonnull ScheduledTask entry) {
+        Worker target = entry.worker() < 0 ? null : workers[entry.worker()];
+
+        if (target == null || !target.idle) {
+            final Worker idle = idleWorker();
+
+            if (idle != null) target = idle;
+            else if (target == null) target = workers[0];
+        }
+
+        target.deque.addLast(entry);
+        LockSupport.unpark(target.thread);
+    }
+
+    /**
+     * Finds an idle worker.
+     *
+     * @return Idle worker if found, {@code null} if every worker is busy
+     */
+    @Nullable
+    private Worker idleWorker() {
+        for (Worker w : workers) {
+            if (w.idle) return w;
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns an executed task to the timer queue.
+     *
+     * @param entry Executed task
+     */
+    private void reschedule(@Nonnull ScheduledTask entry) {
+        lock.lock();
+        try {
+            if (entry.isCancelled()) return;
+
+            queue.add(entry);
+            signal.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private final long minimumGap;
+    private final PriorityQueue<ScheduledTask> queue;
+    private final Map<Task, ScheduledTask> entries;
+    private final ReentrantLock lock;
+    private final Condition signal;
+    private final Worker[] workers;
+    private final Thread timer;
+
+    /**
+     * A worker thread with its own deque of due tasks.
+     */
+    private final class Worker {
+        /**
+         * Creates a new worker.
+         *
+         * @param index Index of this worker
+         */
+        private Worker(int index) {
+            this.index = index;
+            this.deque = new ConcurrentLinkedDeque<>();
+            this.thread = new Thread(this::run, "SchedulerWorker-" + index);
+            this.executionMetric = "scheduler.worker." + index + ".execution";
+            this.latenessMetric = "scheduler.worker." + index + ".lateness";
+        }
+
+        private final int index;
+        private final String executionMetric;
+        private final String latenessMetric;
+        private final Deque<ScheduledTask> deque;
+        private final Thread thread;
+        private volatile boolean idle = false;
+
+        // Only written by the worker thread
+        private volatile long executed = 0;
+        private volatile long stolen = 0;
+        private volatile long busyTime = 0;
+
+        /**
+         * Main loop of this worker.
+         */
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                ScheduledTask entry = deque.pollFirst();
+                boolean steal = false;
+
+                if (entry == null) {
+                    entry = steal();
+                    steal = entry != null;
+                }
+
+                if (entry == null) {
+                    // Mark as idle, then check once more so a concurrent push is not missed
+                    idle = true;
+                    entry = deque.pollFirst();
+
+                    if (entry == null) {
+                        entry = steal();
+                        steal = entry != null;
+                    }
+
+                    if (entry == null) LockSupport.park(this);
+                    idle = false;
+
+                    if (entry == null) continue;
+                }
+
+                // Tasks unregistered while queued or being stolen must not run again
+                if (entry.isCancelled()) continue;
+
+                final long start = System.nanoTime();
+                final long lateness = start - entry.deadline();
+                entry.worker(index);
+                entry.execute(start);
+
+                final long elapsed = System.nanoTime() - start;
+                busyTime += elapsed;
+
+                if (Metrics.isEnabled()) {
+                    final MetricsRegistry metrics = Metrics.registry();
+                    metrics.histogram(executionMetric).record(elapsed);
+                    metrics.histogram(latenessMetric).record(lateness);
+                }
+
+                executed++;
+                if (steal) stolen++;
+
+                reschedule(entry);
+            }
+        }
+
+        /**
+         * Steals a task from the tail of another worker's deque.
+         *
+         * @return Stolen task if found, {@code null} if every other deque is empty
+         */
+        @Nullable
+        private ScheduledTask steal() {
+            for (int i = 1; i < workers.length; i++) {
+                final ScheduledTask entry = workers[(index + i) % workers.length].deque.pollLast();
+                if (entry != null) return entry;
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package civitas.celestis.task.lifecycle;
+
+import javax.annotation.Nonnegative;
+
+/**
+ * <h2>WorkerStatistics</h2>
+ * <p>A snapshot of the load of a single worker thread of a {@link WorkStealingScheduler}.</p>
+ *
+ * @param index         Index of the worker
+ * @param executedTasks Number of task executions performed by the worker
+ * @param stolenTasks   Number of those executions which were stolen from another worker
+ * @param busyTime      Total time spent executing tasks in nanoseconds
+ * @param queuedTasks   Number of tasks currently waiting in the worker's deque
+ */
+public record WorkerStatistics(
+        @Nonnegative int index,
+        @Nonnegative long executedTasks,
+        @Nonnegative long stolenTasks,
+        @Nonnegative long busyTime,
+        @Nonnegative int queuedTasks
+) {}
@@ -0,0 +1,177 @@
+package civitas.celestis.world.lifecycle;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <h2>FixedTimestep</h2>
+ * <p>
+ * A fixed-timestep accumulator. Elapsed wall-clock time is added to the accumulator in nanoseconds,
+ * and is consumed in whole steps of a constant size, so every simulation step has exactly the same length
+ * regardless of load or timer resolution.
+ * </p>
+ * <p>
+ * The time left in the accumulator after the last whole step is exposed as an interpolation
+ * {@link #getAlpha() alpha}, which renderers can use to blend between the two most recent simulated states.
+ * </p>
+ * <p>
+ * When the simulation falls behind, at most {@link #getMaxSteps()} steps are run per advance.
+ * Steps beyond the limit are dropped instead of being merged into larger steps,
+ * so the simulation slows down under load rather than becoming unstable.
+ * </p>
+ */
+public final class FixedTimestep {
+    /**
+     * The default maximum number of steps per advance.
+     */
+    public static final int DEFAULT_MAX_STEPS = 5;
+
+    /**
+     * Creates a new fixed timestep from a target step rate.
+     *
+     * @param stepsPerSecond Number of steps per second
+     * @param maxSteps       Maximum number of steps per advance
+     * @return Fixed timestep
+     * @throws IllegalArgumentException When the rate is not positive, or the maximum number of steps is less than one
+     */
+    @Nonnull
+    public static FixedTimestep ofRate(double stepsPerSecond, @Nonnegative int maxSteps) throws IllegalArgumentException {
+        if (!(stepsPerSecond > 0)) throw new IllegalArgumentException("Step rate must be positive.");
+        return new FixedTimestep(Math.max(1, Math.round(1e9 / stepsPerSecond)), maxSteps);
+    }
+
+    /**
+     * Creates a new fixed timestep.
+     *
+     * @param step     Length of a step in nanoseconds
+     * @param maxSteps Maximum number of steps per advance
+     * @throws IllegalArgumentException When the step is not positive, or the maximum number of steps is less than one
+     */
+    public FixedTimestep(@Nonnegative long step, @Nonnegative int maxSteps) throws IllegalArgumentException {
+        if (step < 1) throw new IllegalArgumentException("Step must be at least one nanosecond.");
+        if (maxSteps < 1) throw new IllegalArgumentException("At least one step must be allowed per advance.");
+
+        this.step = step;
+        this.maxSteps = maxSteps;
+    }
+
+    private final long step;
+    private final int maxSteps;
+
+    private long previous = Long.MIN_VALUE;
+    private long accumulator = 0;
+    private volatile double alpha = 0;
+
+    //
+    // Statistics (only written while advancing)
+    //
+    private volatile long steps = 0;
+    private volatile long droppedSteps = 0;
+
+    /**
+     * Adds the time elapsed since the previous advance to the accumulator, and consumes it in whole steps.
+     * The first advance only records the current time and returns {@code 0}.
+     * This must not be called concurrently.
+     *
+     * @param now Current time in nanoseconds
+     * @return Number of steps to run
+     */
+    @Nonnegative
+    public int advance(long now) {
+        if (previous == Long.MIN_VALUE) {
+            previous = now;
+            return 0;
+        }
+
+        accumulator += Math.max(0, now - previous);
+        previous = now;
+
+        long due = accumulator / step;
+
+        if (due > maxSteps) {
+            // Drop the backlog instead of stretching the step size
+            droppedSteps += due - maxSteps;
+            due = maxSteps;
+        }
+
+        // Only the fraction of a step is kept, whether or not steps were dropped
+        accumulator %= step;
+        alpha = (double) accumulator / step;
+        steps += due;
+
+        return (int) due;
+    }
+
+    /**
+     * Discards the accumulated time. The next advance starts a new measurement.
+     */
+    public void reset() {
+        previous = Long.MIN_VALUE;
+        accumulator = 0;
+        alpha = 0;
+    }
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the length of a step.
+     *
+     * @return Step in nanoseconds
+     */
+    @Nonnegative
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * Gets the length of a step in seconds.
+     *
+     * @return Step in seconds
+     */
+    public double getStepSeconds() {
+        return step / 1e9;
+    }
+
+    /**
+     * Gets the maximum number of steps per advance.
+     *
+     * @return Maximum number of steps
+     */
+    @Nonnegative
+    public int getMaxSteps() {
+        return maxSteps;
+    }
+
+    /**
+     * Gets the interpolation alpha. This is the fraction of a step which has elapsed since the last step,
+     * between {@code 0} (inclusive) and {@code 1} (exclusive).
+     * Renderers should draw {@code previous + (current - previous) * alpha}.
+     *
+     * @return Interpolation alpha
+     */
+    public double getAlpha() {
+        return alpha;
+    }
+
+    /**
+     * Gets the number of steps which have been run.
+     *
+     * @return Number of steps
+     */
+    @Nonnegative
+    public long getSteps() {
+        return steps;
+    }
+
+    /**
+     * Gets the number of steps which were dropped because the catch-up limit was reached.
+     *
+     * @return Number of dropped steps
+     */
+    @Nonnegative
+    public long getDroppedSteps() {
+        return droppedSteps;
+    }
+}
@@ -0,0 +1,19 @@
+package civitas.celestis.world.lifecycle;
+
+/**
+ * <h2>LateTickPolicy</h2>
+ * <p>Determines how a {@link WorldLane} handles ticks it could not run on time.</p>
+ */
+public enum LateTickPolicy {
+    /**
+     * Late ticks are dropped. The world resumes at its target rate from the current time,
+     * so the simulation falls behind wall-clock time under load.
+     */
+    SKIP,
+
+    /**
+     * Late ticks are run back-to-back until the world has caught up,
+     * up to the catch-up limit of the lane. Ticks beyond the limit are dropped.
+     */
+    CATCH_UP;
+}
@@ -0,0 +1,308 @@
+package civitas.celestis.world.lifecycle;
+
+import civitas.celestis.metrics.Histogram;
+import civitas.celestis.metrics.Metrics;
+import civitas.celestis.world.World;
+import org.joda.time.Duration;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <h2>WorldLane</h2>
+ * <p>
+ * The execution lane of a single world when worlds are ticked in parallel.
+ * A lane holds the target tick rate of its world and statistics about its ticks.
+ * </p>
+ * <p>
+ * Ticks are aligned to a fixed grid of deadlines, and each tick receives the target interval as its delta,
+ * with nanosecond precision. A lane never runs two ticks of its world at once.
+ * The grid restarts whenever the interval changes, or parallel mode is enabled.
+ * </p>
+ */
+public final class WorldLane implements Runnable {
+    /**
+     * The default interval between two ticks.
+     */
+    public static final Duration DEFAULT_INTERVAL = Duration.millis(1);
+
+    /**
+     * The default maximum number of late ticks to run at once when catching up.
+     */
+    public static final int DEFAULT_CATCH_UP_LIMIT = 10;
+
+    /**
+     * Creates a new lane.
+     *
+     * @param world World to tick
+     */
+    WorldLane(@Nonnull World world) {
+        this.world = world;
+        this.interval = DEFAULT_INTERVAL;
+        this.step = TimeUnit.MILLISECONDS.toNanos(DEFAULT_INTERVAL.getMillis());
+        this.policy = LateTickPolicy.SKIP;
+        this.catchUpLimit = DEFAULT_CATCH_UP_LIMIT;
+        this.deadline = System.nanoTime();
+    }
+
+    @Nonnull
+    private final World world;
+    @Nonnull
+    private volatile Duration interval;
+    @Nonnegative
+    private volatile long step;
+    @Nonnull
+    private volatile LateTickPolicy policy;
+    @Nonnegative
+    private volatile int catchUpLimit;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile long deadline;
+
+    //
+    // Statistics (only written while running)
+    //
+    private volatile long ticks = 0;
+    private volatile long overruns = 0;
+    private volatile long skippedTicks = 0;
+    private volatile long lastTickTime = 0;
+    @Nullable
+    private Histogram tickTime = null;
+
+    //
+    // Execution
+    //
+
+    /**
+     * Checks if the next tick of this lane is due and no tick is running, then marks this lane as running.
+     *
+     * @param now Current time in nanoseconds
+     * @return {@code true} if the caller should run this lane
+     */
+    boolean tryAcquire(long now) {
+        if (now - deadline < 0) return false;
+        return running.compareAndSet(false, true);
+    }
+
+    /**
+     * Runs the due tick of this lane, along with any late ticks allowed by the late tick policy.
+     * This must only be called after {@link WorldLane#tryAcquire(long)} returns {@code true}.
+     */
+    @Override
+    public void run() {
+        try {
+            final long step = this.step;
+            final double seconds = step / 1e9;
+
+            // Number of whole intervals which have passed since the due tick
+            final long missed = (System.nanoTime() - deadline) / step;
+            final long late = policy == LateTickPolicy.CATCH_UP ? Math.min(missed, catchUpLimit) : 0;
+
+            for (long i = 0; i <= late; i++) {
+                lastTickTime = tickWorld(seconds);
+                if (lastTickTime > step) overruns++;
+                ticks++;
+            }
+
+            skippedTicks += missed - late;
+            deadline += (missed + 1) * step;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Restarts the deadline grid of this lane from now, so that the next tick is due immediately,
+     * and time which passed while this lane was not being run is not counted as missed ticks.
+     */
+    void resetDeadline() {
+        deadline = System.nanoTime();
+    }
+
+    /**
+     * Ticks the world once, and records the duration of the tick if metrics are enabled.
+     *
+     * @param seconds Duration to tick by in seconds
+     * @return Duration of the tick in nanoseconds
+     */
+    long tickWorld(double seconds) {
+        final long start = System.nanoTime();
+        world.tick(seconds);
+
+        final long elapsed = System.nanoTime() - start;
+
+        if (Metrics.isEnabled()) {
+            if (tickTime == null) tickTime = Metrics.registry().histogram("world." + world.getName() + ".tick");
+            tickTime.record(elapsed);
+        }
+
+        return elapsed;
+    }
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the world of this lane.
+     *
+     * @return World
+     */
+    @Nonnull
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Gets the target interval between two ticks, truncated to whole milliseconds but never shorter than one,
+     * consistent with {@link #setInterval(Duration)}. Tick rates above 1000 ticks per second therefore report
+     * one millisecond. See {@link #getIntervalNanos()} for the exact interval.
+     *
+     * @return Interval
+     */
+    @Nonnull
+    public Duration getInterval() {
+        return interval;
+    }
+
+    /**
+     * Gets the target interval between two ticks in nanoseconds.
+     *
+     * @return Interval in nanoseconds
+     */
+    @Nonnegative
+    public long getIntervalNanos() {
+        return step;
+    }
+
+    /**
+     * Gets the interpolation alpha of this lane. This is the fraction of an interval which has elapsed
+     * since the most recent tick was due, between {@code 0} and {@code 1}.
+     *
+     * @return Interpolation alpha
+     */
+    public double getAlpha() {
+        final long step = this.step;
+        final double alpha = (double) (System.nanoTime() - (deadline - step)) / step;
+
+        return Math.max(0, Math.min(1, alpha));
+    }
+
+    /**
+     * Gets the policy for handling late ticks.
+     *
+     * @return Late tick policy
+     */
+    @Nonnull
+    public LateTickPolicy getLateTickPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets the maximum number of late ticks to run at once when catching up.
+     *
+     * @return Catch-up limit
+     */
+    @Nonnegative
+    public int getCatchUpLimit() {
+        return catchUpLimit;
+    }
+
+    /**
+     * Gets the number of ticks this lane has run.
+     *
+     * @return Number of ticks
+     */
+    @Nonnegative
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets the number of ticks which took longer than the target interval.
+     *
+     * @return Number of overruns
+     */
+    @Nonnegative
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * Gets the number of late ticks which were dropped.
+     *
+     * @return Number of skipped ticks
+     */
+    @Nonnegative
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * Gets the time the most recent tick took.
+     *
+     * @return Duration of the last tick in nanoseconds
+     */
+    @Nonnegative
+    public long getLastTickTime() {
+        return lastTickTime;
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the target interval between two ticks.
+     *
+     * @param interval Interval
+     * @throws IllegalArgumentException When the interval is shorter than one millisecond
+     */
+    public void setInterval(@Nonnull Duration interval) throws IllegalArgumentException {
+        if (interval.getMillis() < 1) throw new IllegalArgumentException("Interval must be at least one millisecond.");
+        this.interval = interval;
+        this.step = TimeUnit.MILLISECONDS.toNanos(interval.getMillis());
+        resetDeadline();
+    }
+
+    /**
+     * Sets the target tick rate.
+     *
+     * Unlike {@link #setInterval(Duration)}, the interval is kept with nanosecond precision.
+     * Rates above 1000 ticks per second require the {@link LateTickPolicy#CATCH_UP} policy,
+     * since due lanes are only checked once per millisecond.
+     *
+     * @param ticksPerSecond Number of ticks per second
+     * @throws IllegalArgumentException When the tick rate is not positive
+     */
+    public void setTickRate(double ticksPerSecond) throws IllegalArgumentException {
+        if (!(ticksPerSecond > 0)) throw new IllegalArgumentException("Tick rate must be positive.");
+
+        final long step = Math.max(1, Math.round(1e9 / ticksPerSecond));
+        this.interval = Duration.millis(Math.max(1, TimeUnit.NANOSECONDS.toMillis(step)));
+        this.step = step;
+        resetDeadline();
+    }
+
+    /**
+     * Sets the policy for handling late ticks.
+     *
+     * @param policy Late tick policy
+     */
+    public void setLateTickPolicy(@Nonnull LateTickPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Sets the maximum number of late ticks to run at once when catching up.
+     *
+     * @param catchUpLimit Catch-up limit
+     * @throws IllegalArgumentException When the catch-up limit is negative
+     */
+    public void setCatchUpLimit(@Nonnegative int catchUpLimit) throws IllegalArgumentException {
+        if (catchUpLimit < 0) throw new IllegalArgumentException("Catch-up limit cannot be negative.");
+        this.catchUpLimit = catchUpLimit;
+    }
+}
@@ -1,6 +1,7 @@
 package civitas.celestis.world.lifecycle;
 
 import civitas.celestis.Odyssey;
+import civitas.celestis.metrics.Metrics;
 import civitas.celestis.task.Task;
 import civitas.celestis.world.World;
 import org.joda.time.Duration;
@@ -9,11 +10,24 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * <h2>WorldManager</h2>
  * <p>Handles the lifecycle of worlds.</p>
+ * <p>
+ * By default, every world is ticked one after another on a single scheduler thread.
+ * In parallel mode, each world is ticked on its own {@link WorldLane} at its own target rate,
+ * and lanes which are due are run concurrently on a fork-join pool.
+ * </p>
+ * <p>
+ * When a {@link FixedTimestep} is set, worlds in sequential mode are no longer ticked by the measured
+ * scheduler delta. Instead, elapsed time is accumulated with nanosecond precision and worlds are stepped
+ * by a constant step size, up to the catch-up limit of the timestep.
+ * </p>
  */
 public final class WorldManager {
     /**
@@ -28,6 +42,11 @@ public final class WorldManager {
      */
     public void stop() {
         Odyssey.getScheduler().unregisterTask(worldTicker);
+
+        synchronized (this) {
+            if (pool != null) pool.shutdown();
+            pool = null;
+        }
     }
 
     /**
@@ -71,12 +90,88 @@ public final class WorldManager {
         return null;
     }
 
+    /**
+     * Gets the execution lane of a world.
+     * Lanes are only used in parallel mode, but can be configured at any time.
+     *
+     * @param world World to get the lane of
+     * @return Lane of world
+     * @throws NullPointerException When the world is not managed by this manager
+     */
+    @Nonnull
+    public WorldLane getLane(@Nonnull World world) throws NullPointerException {
+        final WorldLane lane = lanes.get(world);
+        if (lane == null) throw new NullPointerException("World " + world.getName() + " is not managed by this manager.");
+
+        return lane;
+    }
+
+    /**
+     * Checks if worlds are ticked in parallel.
+     *
+     * @return {@code true} if each world is ticked on its own lane
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether worlds are ticked in parallel.
+     * Enabling parallel mode restarts the deadlines of every lane,
+     * so time spent in sequential mode is not counted as missed ticks.
+     *
+     * @param parallel {@code true} to tick each world on its own lane
+     */
+    public void setParallel(boolean parallel) {
+        if (parallel && !this.parallel) lanes.values().forEach(WorldLane::resetDeadline);
+        this.parallel = parallel;
+    }
+
+    /**
+     * Gets the fixed timestep of sequential mode.
+     *
+     * @return Fixed timestep, or {@code null} if worlds are ticked by the measured scheduler delta
+     */
+    @Nullable
+    public FixedTimestep getTimestep() {
+        return timestep;
+    }
+
+    /**
+     * Sets the fixed timestep of sequential mode.
+     *
+     * @param timestep Fixed timestep, or {@code null} to tick worlds by the measured scheduler delta
+     */
+    public void setTimestep(@Nullable FixedTimestep timestep) {
+        if (timestep != null) timestep.reset();
+        this.timestep = timestep;
+    }
+
+    /**
+     * Gets the interpolation alpha of a world, which renderers can use to blend between
+     * the two most recent simulated states of its objects.
+     * Worlds which are not ticked at a fixed rate always return {@code 1}.
+     *
+     * @param world World to get the alpha of
+     * @return Interpolation alpha between {@code 0} and {@code 1}
+     */
+    public double getAlpha(@Nonnull World world) {
+        if (parallel) {
+            final WorldLane lane = lanes.get(world);
+            return lane != null ? lane.getAlpha() : 1;
+        }
+
+        final FixedTimestep timestep = this.timestep;
+        return timestep != null ? timestep.getAlpha() : 1;
+    }
+
     /**
      * Adds a world to this manager.
      *
      * @param world World to add
      */
     public void addWorld(@Nonnull World world) {
+        lanes.putIfAbsent(world, new WorldLane(world));
         worlds.add(world);
     }
 
@@ -87,13 +182,76 @@ public final class WorldManager {
      */
     public void removeWorld(@Nonnull World world) {
         worlds.remove(world);
+        if (!worlds.contains(world)) lanes.remove(world);
+    }
+
+    /**
+     * Ticks every world one after another.
+     * Tick durations are only measured while metrics are enabled.
+     *
+     * @param seconds Duration to tick by in seconds
+     */
+    private void tickWorlds(double seconds) {
+        final boolean measured = Metrics.isEnabled();
+
+        for (World world : getWorlds()) {
+            final WorldLane lane = measured ? lanes.get(world) : null;
+
+            if (lane != null) {
+                lane.tickWorld(seconds);
+            } else {
+                world.tick(seconds);
+            }
+        }
+    }
+
+    /**
+     * Runs every lane which is due on the fork-join pool.
+     */
+    private void dispatchLanes() {
+        final ForkJoinPool pool = getPool();
+        final long now = System.nanoTime();
+
+        for (World world : getWorlds()) {
+            final WorldLane lane = lanes.get(world);
+            if (lane != null && lane.tryAcquire(now)) pool.execute(lane);
+        }
+    }
+
+    /**
+     * Gets the fork-join pool, creating it if necessary.
+     *
+     * @return Fork-join pool
+     */
+    @Nonnull
+    private synchronized ForkJoinPool getPool() {
+        if (pool == null) pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        return pool;
     }
 
     private final List<World> worlds = new ArrayList<>();
+    private final Map<World, WorldLane> lanes = new ConcurrentHashMap<>();
+    private volatile boolean parallel = false;
+    @Nullable
+    private volatile FixedTimestep timestep = null;
+    @Nullable
+    private ForkJoinPool pool = null;
     private final Task worldTicker = new Task() {
         @Override
         public void execute(@Nonnull Duration delta) {
-            getWorlds().forEach(w -> w.tick(delta));
+            final FixedTimestep timestep = WorldManager.this.timestep;
+
+            if (parallel) {
+                dispatchLanes();
+            } else if (timestep != null) {
+                final int steps = timestep.advance(System.nanoTime());
+
+                for (int i = 0; i < steps; i++) {
+                    tickWorlds(timestep.getStepSeconds());
+                }
+            } else {
+                tickWorlds(delta.getMillis() / 1000d);
+            }
         }
 
         @Nonnull
@@ -0,0 +1,250 @@
+package civitas.celestis.geometry.mesh;
+
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.RotationMatrix;
+import civitas.celestis.number.Vector3;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <h2>Icosphere</h2>
+ * <p>
+ * Tessellates spheres by recursively subdividing an icosahedron.
+ * Level {@code 0} is the icosahedron itself (20 faces), and every level quadruples the number of faces.
+ * </p>
+ * <p>
+ * Unit meshes are built once per level and cached. Instances only scale, rotate and translate
+ * the cached positions, and share the index buffer of the unit mesh.
+ * </p>
+ */
+public final class Icosphere {
+    /**
+     * The highest supported level of detail. (20480 faces)
+     */
+    public static final int MAX_LEVEL = 5;
+
+    /**
+     * The desired length of a projected edge in pixels, used to select a level of detail.
+     */
+    public static final double TARGET_EDGE_PIXELS = 12;
+
+    /**
+     * Colors assigned to faces in rotation.
+     */
+    private static final int[] PALETTE = {
+            Color.RED.getRGB(),
+            Color.BLUE.getRGB(),
+            Color.GREEN.getRGB(),
+            Color.CYAN.getRGB(),
+            Color.PINK.getRGB(),
+            Color.GRAY.getRGB(),
+            Color.DARK_GRAY.getRGB(),
+            Color.YELLOW.getRGB()
+    };
+
+    /**
+     * Cached unit meshes by level.
+     */
+    private static final TriangleMesh[] UNITS = new TriangleMesh[MAX_LEVEL + 1];
+
+    /**
+     * Gets the unit sphere mesh of given level. The returned mesh is shared and must not be modified.
+     *
+     * @param level Level of detail
+     * @return Unit sphere mesh
+     * @throws IllegalArgumentException When the level is not between {@code 0} and {@link #MAX_LEVEL}
+     */
+    @Nonnull
+    public static TriangleMesh unit(int level) throws IllegalArgumentException {
+        if (level < 0 || level > MAX_LEVEL) {
+            throw new IllegalArgumentException("Level must be between 0 and " + MAX_LEVEL + ".");
+        }
+
+        synchronized (UNITS) {
+            if (UNITS[level] == null) {
+                if (level == 0) {
+                    UNITS[0] = icosahedron();
+                } else {
+                    UNITS[level] = subdivide(unit(level - 1));
+                }
+            }
+
+            return UNITS[level];
+        }
+    }
+
+    /**
+     * Creates a sphere mesh by transforming the cached unit mesh of given level.
+     *
+     * @param level    Level of detail
+     * @param centroid Centroid of the sphere
+     * @param rotation Rotation of the sphere
+     * @param radius   Radius of the sphere
+     * @return Sphere mesh
+     * @throws IllegalArgumentException When the level is not between {@code 0} and {@link #MAX_LEVEL}
+     */
+    @Nonnull
+    public static TriangleMesh instance(
+            int level,
+            @Nonnull Vector3 centroid,
+            @Nonnull Quaternion rotation,
+            @Nonnegative double radius
+    ) throws IllegalArgumentException {
+        final TriangleMesh unit = unit(level);
+        final double[] source = unit.positions();
+        final double[] positions = new double[source.length];
+
+        final RotationMatrix matrix = rotation.matrix();
+        matrix.transform(source, 0, positions, 0, unit.pointCount(), 0, 0, 0, radius);
+
+        final double cx = centroid.x(), cy = centroid.y(), cz = centroid.z();
+
+        for (int i = 0; i < positions.length; i += 3) {
+            positions[i] += cx;
+            positions[i + 1] += cy;
+            positions[i + 2] += cz;
+        }
+
+        return new TriangleMesh(positions, unit);
+    }
+
+    /**
+     * Selects a level of detail from the projected size of a sphere.
+     * The level is chosen so that projected edges are about {@link #TARGET_EDGE_PIXELS} long.
+     *
+     * @param screenRadius Radius of the sphere on screen in pixels
+     * @return Level of detail
+     */
+    public static int level(double screenRadius) {
+        if (!(screenRadius > 0)) return 0;
+
+        // Edges of an icosahedron are about 1.05 times its circumradius, and halve on every level
+        final double edge = 1.05 * screenRadius;
+        final int level = (int) Math.ceil(Math.log(edge / TARGET_EDGE_PIXELS) / Math.log(2));
+
+        return Math.max(0, Math.min(MAX_LEVEL, level));
+    }
+
+    /**
+     * Builds a unit icosahedron.
+     *
+     * @return Unit icosahedron mesh
+     */
+    @Nonnull
+    private static TriangleMesh icosahedron() {
+        final double t = (1 + Math.sqrt(5)) / 2;
+
+        final double[] positions = {
+                -1, t, 0, 1, t, 0, -1, -t, 0, 1, -t, 0,
+                0, -1, t, 0, 1, t, 0, -1, -t, 0, 1, -t,
+                t, 0, -1, t, 0, 1, -t, 0, -1, -t, 0, 1
+        };
+
+        normalize(positions);
+
+        final int[] indices = {
+                0, 11, 5, 0, 5, 1, 0, 1, 7, 0, 7, 10, 0, 10, 11,
+                1, 5, 9, 5, 11, 4, 11, 10, 2, 10, 7, 6, 7, 1, 8,
+                3, 9, 4, 3, 4, 2, 3, 2, 6, 3, 6, 8, 3, 8, 9,
+                4, 9, 5, 2, 4, 11, 6, 2, 10, 8, 6, 7, 9, 8, 1
+        };
+
+        return new TriangleMesh(positions, indices, colors(indices.length / 3));
+    }
+
+    /**
+     * Splits every face of a unit mesh into four, and projects the new points onto the unit sphere.
+     *
+     * @param mesh Mesh to subdivide
+     * @return Subdivided mesh
+     */
+    @Nonnull
+    private static TriangleMesh subdivide(@Nonnull TriangleMesh mesh) {
+        final int faces = mesh.faceCount();
+        final int[] source = mesh.indices();
+
+        // Every edge is shared by two faces, so each face adds 1.5 points
+        double[] positions = Arrays.copyOf(mesh.positions(), mesh.positions().length + faces * 3 / 2 * 3);
+        final int[] indices = new int[faces * 12];
+        final Map<Long, Integer> midpoints = new HashMap<>();
+        int points = mesh.pointCount();
+
+        for (int f = 0; f < faces; f++) {
+            final int a = source[f * 3], b = source[f * 3 + 1], c = source[f * 3 + 2];
+            final int[] mid = new int[3];
+            final int[][] edges = {{a, b}, {b, c}, {c, a}};
+
+            for (int e = 0; e < 3; e++) {
+                final int p = edges[e][0], q = edges[e][1];
+                final long key = ((long) Math.min(p, q) << 32) | Math.max(p, q);
+
+                Integer index = midpoints.get(key);
+
+                if (index == null) {
+                    index = points++;
+                    midpoints.put(key, index);
+
+                    if (positions.length < points * 3) positions = Arrays.copyOf(positions, positions.length * 2);
+
+                    for (int axis = 0; axis < 3; axis++) {
+                        positions[index * 3 + axis] = (positions[p * 3 + axis] + positions[q * 3 + axis]) / 2;
+                    }
+                }
+
+                mid[e] = index;
+            }
+
+            final int[] split = {
+                    a, mid[0], mid[2],
+                    b, mid[1], mid[0],
+                    c, mid[2], mid[1],
+                    mid[0], mid[1], mid[2]
+            };
+
+            System.arraycopy(split, 0, indices, f * 12, 12);
+        }
+
+        positions = Arrays.copyOf(positions, points * 3);
+        normalize(positions);
+
+        return new TriangleMesh(positions, indices, colors(faces * 4));
+    }
+
+    /**
+     * Projects every point onto the unit sphere.
+     *
+     * @param positions Coordinates of each point (XYZ triplets)
+     */
+    private static void normalize(@Nonnull double[] positions) {
+        for (int i = 0; i < positions.length; i += 3) {
+            final double x = positions[i], y = positions[i + 1], z = positions[i + 2];
+            final double inverse = 1 / Math.sqrt(x * x + y * y + z * z);
+
+            positions[i] = x * inverse;
+            positions[i + 1] = y * inverse;
+            positions[i + 2] = z * inverse;
+        }
+    }
+
+    /**
+     * Assigns colors to faces in rotation.
+     *
+     * @param faces Number of faces
+     * @return Packed ARGB color of each face
+     */
+    @Nonnull
+    private static int[] colors(@Nonnegative int faces) {
+        final int[] colors = new int[faces];
+
+        for (int i = 0; i < faces; i++) {
+            colors[i] = PALETTE[i % PALETTE.length];
+        }
+
+        return colors;
+    }
+}
@@ -0,0 +1,186 @@
+package civitas.celestis.geometry.mesh;
+
+import civitas.celestis.geometry.ray.LightRay;
+import civitas.celestis.geometry.ray.Ray;
+import civitas.celestis.geometry.solid.Solids;
+import civitas.celestis.geometry.vertex.ColoredVertex;
+import civitas.celestis.geometry.vertex.Vertex;
+import civitas.celestis.graphics.Colors;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.RotationMatrix;
+import civitas.celestis.number.Vector3;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * <h2>MeshFace</h2>
+ * <p>
+ * A vertex view of a single face of a {@link TriangleMesh}.
+ * Points and colors are read from the mesh on every access, and ray hits are written back to it.
+ * </p>
+ */
+final class MeshFace implements Vertex {
+    /**
+     * Creates a new face view.
+     *
+     * @param mesh Mesh this face belongs to
+     * @param face Index of this face
+     */
+    MeshFace(@Nonnull TriangleMesh mesh, @Nonnegative int face) {
+        this.mesh = mesh;
+        this.face = face;
+    }
+
+    @Nonnull
+    private final TriangleMesh mesh;
+    @Nonnegative
+    private final int face;
+
+    @Nonnull
+    private Vector3 point(int corner) {
+        return new Vector3(
+                mesh.coordinate(face, corner, 0),
+                mesh.coordinate(face, corner, 1),
+                mesh.coordinate(face, corner, 2)
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Vector3 a() {
+        return point(0);
+    }
+
+    @Nonnull
+    @Override
+    public Vector3 b() {
+        return point(1);
+    }
+
+    @Nonnull
+    @Override
+    public Vector3 c() {
+        return point(2);
+    }
+
+    @Nonnull
+    @Override
+    public Color color() {
+        return new Color(mesh.color(face), true);
+    }
+
+    @Override
+    public double reflectiveness() {
+        return mesh.reflectiveness(face);
+    }
+
+    @Nonnull
+    @Override
+    public List<Vector3> points() {
+        return List.of(a(), b(), c());
+    }
+
+    @Nonnull
+    @Override
+    public Vector3 centroid() {
+        return new Vector3(
+                (mesh.coordinate(face, 0, 0) + mesh.coordinate(face, 1, 0) + mesh.coordinate(face, 2, 0)) / 3,
+                (mesh.coordinate(face, 0, 1) + mesh.coordinate(face, 1, 1) + mesh.coordinate(face, 2, 1)) / 3,
+                (mesh.coordinate(face, 0, 2) + mesh.coordinate(face, 1, 2) + mesh.coordinate(face, 2, 2)) / 3
+        );
+    }
+
+    @Nonnull
+    @Override
+    public Vector3 normal() {
+        final Vector3 a = a();
+        return b().subtract(a).cross(c().subtract(a));
+    }
+
+    @Nullable
+    @Override
+    public Vector3 intersection(@Nonnull Ray ray) {
+        if (!Solids.intersects(this, ray)) return null;
+
+        final Vector3 n = normal();
+
+        final double denominator = ray.direction().dot(n);
+        if (denominator == 0) return null;
+
+        final double length = (centroid().subtract(ray.origin()).dot(n)) / denominator;
+        if (length < 0) return null;
+
+        return ray.destination(length);
+    }
+
+    @Nonnull
+    @Override
+    public ColoredVertex inflate(double scale) {
+        return new ColoredVertex(a().multiply(scale), b().multiply(scale), c().multiply(scale), color(), reflectiveness());
+    }
+
+    @Nonnull
+    @Override
+    public ColoredVertex transform(@Nonnull Vector3 origin, @Nonnull Quaternion rotation) {
+        final RotationMatrix matrix = rotation.matrix();
+
+        return new ColoredVertex(
+                matrix.rotate(a().subtract(origin)),
+                matrix.rotate(b().subtract(origin)),
+                matrix.rotate(c().subtract(origin)),
+                color(),
+                reflectiveness()
+        );
+    }
+
+    @Override
+    public void onRayHit(@Nonnull Ray ray) {
+        if (ray instanceof LightRay lr) {
+            mesh.color(face, Colors.brighten(mesh.color(face), lr.intensity()));
+        }
+    }
+
+    @Override
+    @Nonnull
+    public Iterator<Vector3> iterator() {
+        return points().iterator();
+    }
+
+    /**
+     * Checks for equality. Two face views are equal if they view the same face of the same mesh.
+     *
+     * @param obj Object to compare to
+     * @return {@code true} if the other object views the same face
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof MeshFace other)) return false;
+        return mesh == other.mesh && face == other.face;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(mesh) * 31 + face;
+    }
+
+    /**
+     * Converts this face to a string.
+     *
+     * @return Stringified face
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "MeshFace{" +
+                "a=" + a() +
+                ", b=" + b() +
+                ", c=" + c() +
+                ", color=" + color() +
+                '}';
+    }
+}
@@ -0,0 +1,417 @@
+package civitas.celestis.geometry.mesh;
+
+import civitas.celestis.geometry.vertex.Vertex;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.Vector3;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h2>TriangleMesh</h2>
+ * <p>
+ * An indexed triangle mesh stored in flat primitive arrays.
+ * Positions are shared between faces, and are stored as three coordinates per point.
+ * Each face is three indices into the position array, a packed ARGB color, and a reflection coefficient.
+ * </p>
+ * <p>
+ * Compared to a list of {@link civitas.celestis.geometry.vertex.ColoredVertex}, this removes the
+ * three {@link Vector3} objects and the {@link java.awt.Color} object held by every triangle,
+ * and allows transforms to be written into a reusable buffer instead of allocating new vertices.
+ * </p>
+ * <p>
+ * Faces can be viewed as {@link Vertex} objects using {@link #face(int)} or {@link #faces()}.
+ * These views read from the arrays of this mesh, and are not detached copies.
+ * </p>
+ */
+public final class TriangleMesh {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new triangle mesh.
+     * Reflectiveness of each face is automatically derived from its color.
+     *
+     * @param positions Coordinates of each point (XYZ triplets)
+     * @param indices   Indices of the points of each face (ABC triplets)
+     * @param colors    Packed ARGB color of each face
+     * @throws IllegalArgumentException When the array lengths are inconsistent, or an index is out of range
+     */
+    public TriangleMesh(@Nonnull double[] positions, @Nonnull int[] indices, @Nonnull int[] colors)
+            throws IllegalArgumentException {
+        this(positions, indices, colors, deriveReflectiveness(colors));
+    }
+
+    /**
+     * Creates a new triangle mesh.
+     *
+     * @param positions      Coordinates of each point (XYZ triplets)
+     * @param indices        Indices of the points of each face (ABC triplets)
+     * @param colors         Packed ARGB color of each face
+     * @param reflectiveness Reflection coefficient of each face
+     * @throws IllegalArgumentException When the array lengths are inconsistent, or an index is out of range
+     */
+    public TriangleMesh(
+            @Nonnull double[] positions,
+            @Nonnull int[] indices,
+            @Nonnull int[] colors,
+            @Nonnull float[] reflectiveness
+    ) throws IllegalArgumentException {
+        if (positions.length % 3 != 0) {
+            throw new IllegalArgumentException("Position array length must be a multiple of 3.");
+        }
+
+        if (indices.length % 3 != 0) {
+            throw new IllegalArgumentException("Index array length must be a multiple of 3.");
+        }
+
+        final int faces = indices.length / 3;
+
+        if (colors.length != faces || reflectiveness.length != faces) {
+            throw new IllegalArgumentException("Color and reflectiveness arrays must have one entry per face.");
+        }
+
+        final int points = positions.length / 3;
+
+        for (final int index : indices) {
+            if (index < 0 || index >= points) {
+                throw new IllegalArgumentException("Index " + index + " is out of range for " + points + " points.");
+            }
+        }
+
+        this.positions = positions;
+        this.indices = indices;
+        this.colors = colors;
+        this.reflectiveness = reflectiveness;
+    }
+
+    /**
+     * Creates a new triangle mesh which shares the arrays of an already validated mesh.
+     *
+     * @param source Mesh to share positions, indices and reflectiveness with
+     * @param colors Packed ARGB color of each face
+     */
+    private TriangleMesh(@Nonnull TriangleMesh source, @Nonnull int[] colors) {
+        this.positions = source.positions;
+        this.indices = source.indices;
+        this.colors = colors;
+        this.reflectiveness = source.reflectiveness;
+    }
+
+    /**
+     * Creates a new triangle mesh with the same topology as an already validated mesh.
+     * The indices and reflectiveness are shared, and the colors are copied.
+     *
+     * @param positions Coordinates of each point (XYZ triplets), with as many points as the topology
+     * @param topology  Mesh to share indices and reflectiveness with
+     */
+    TriangleMesh(@Nonnull double[] positions, @Nonnull TriangleMesh topology) {
+        if (positions.length != topology.positions.length) {
+            throw new IllegalArgumentException("Position array length must match the topology.");
+        }
+
+        this.positions = positions;
+        this.indices = topology.indices;
+        this.colors = topology.colors.clone();
+        this.reflectiveness = topology.reflectiveness;
+    }
+
+    /**
+     * Creates a new triangle mesh from a list of vertices.
+     * Points are shared between faces when the vertices reference the same {@link Vector3} instance.
+     *
+     * @param vertices List of vertices
+     * @return Triangle mesh
+     */
+    @Nonnull
+    public static TriangleMesh of(@Nonnull List<? extends Vertex> vertices) {
+        final int faces = vertices.size();
+        final Map<Vector3, Integer> shared = new IdentityHashMap<>();
+
+        double[] positions = new double[faces * 9];
+        final int[] indices = new int[faces * 3];
+        final int[] colors = new int[faces];
+        final float[] reflectiveness = new float[faces];
+
+        int points = 0;
+
+        for (int f = 0; f < faces; f++) {
+            final Vertex v = vertices.get(f);
+            final Vector3[] corners = {v.a(), v.b(), v.c()};
+
+            for (int c = 0; c < 3; c++) {
+                Integer index = shared.get(corners[c]);
+
+                if (index == null) {
+                    index = points++;
+                    shared.put(corners[c], index);
+
+                    positions[index * 3] = corners[c].x();
+                    positions[index * 3 + 1] = corners[c].y();
+                    positions[index * 3 + 2] = corners[c].z();
+                }
+
+                indices[f * 3 + c] = index;
+            }
+
+            colors[f] = v.color().getRGB();
+            reflectiveness[f] = (float) v.reflectiveness();
+        }
+
+        if (points * 3 < positions.length) positions = Arrays.copyOf(positions, points * 3);
+
+        return new TriangleMesh(positions, indices, colors, reflectiveness);
+    }
+
+    /**
+     * Derives the reflection coefficient of each face from its color.
+     * This matches the derivation used by {@link civitas.celestis.geometry.vertex.ColoredVertex}.
+     *
+     * @param colors Packed ARGB colors
+     * @return Reflection coefficients
+     */
+    @Nonnull
+    private static float[] deriveReflectiveness(@Nonnull int[] colors) {
+        final float[] reflectiveness = new float[colors.length];
+
+        for (int i = 0; i < colors.length; i++) {
+            final int rgb = colors[i];
+            final int avg = (((rgb >> 16) & 0xFF) + ((rgb >> 8) & 0xFF) + (rgb & 0xFF)) / 3;
+            reflectiveness[i] = 1 - ((float) avg / 255);
+        }
+
+        return reflectiveness;
+    }
+
+    //
+    // Data
+    //
+    @Nonnull
+    private final double[] positions; // XYZ per point
+    @Nonnull
+    private final int[] indices; // ABC per face
+    @Nonnull
+    private final int[] colors; // ARGB per face
+    @Nonnull
+    private final float[] reflectiveness; // Per face
+
+    /**
+     * Gets the number of points in this mesh.
+     *
+     * @return Number of points
+     */
+    @Nonnegative
+    public int pointCount() {
+        return positions.length / 3;
+    }
+
+    /**
+     * Gets the number of faces in this mesh.
+     *
+     * @return Number of faces
+     */
+    @Nonnegative
+    public int faceCount() {
+        return colors.length;
+    }
+
+    /**
+     * Gets the backing position array of this mesh.
+     * Changes to the returned array are reflected in this mesh.
+     *
+     * @return Coordinates of each point (XYZ triplets)
+     */
+    @Nonnull
+    public double[] positions() {
+        return positions;
+    }
+
+    /**
+     * Gets the backing index array of this mesh.
+     * Changes to the returned array are reflected in this mesh.
+     *
+     * @return Indices of the points of each face (ABC triplets)
+     */
+    @Nonnull
+    public int[] indices() {
+        return indices;
+    }
+
+    /**
+     * Gets the backing color array of this mesh.
+     * Changes to the returned array are reflected in this mesh.
+     *
+     * @return Packed ARGB color of each face
+     */
+    @Nonnull
+    public int[] colors() {
+        return colors;
+    }
+
+    /**
+     * Gets the packed ARGB color of a face.
+     *
+     * @param face Index of face
+     * @return Packed ARGB color
+     */
+    public int color(int face) {
+        return colors[face];
+    }
+
+    /**
+     * Sets the packed ARGB color of a face.
+     *
+     * @param face  Index of face
+     * @param color Packed ARGB color
+     */
+    public void color(int face, int color) {
+        colors[face] = color;
+    }
+
+    /**
+     * Gets the reflection coefficient of a face.
+     *
+     * @param face Index of face
+     * @return Reflection coefficient
+     */
+    @Nonnegative
+    public double reflectiveness(int face) {
+        return reflectiveness[face];
+    }
+
+    /**
+     * Gets a single coordinate of a corner of a face.
+     *
+     * @param face   Index of face
+     * @param corner Index of corner ({@code 0} for A, {@code 1} for B, {@code 2} for C)
+     * @param axis   Index of axis ({@code 0} for X, {@code 1} for Y, {@code 2} for Z)
+     * @return Coordinate
+     */
+    public double coordinate(int face, int corner, int axis) {
+        return positions[indices[face * 3 + corner] * 3 + axis];
+    }
+
+    /**
+     * Creates a mesh which shares the positions, indices and reflectiveness of this mesh,
+     * but has its own copy of the colors. This allows a cached mesh to be lit or recolored
+     * without modifying the cached colors, while only copying one integer per face.
+     *
+     * @return Instance of this mesh
+     */
+    @Nonnull
+    public TriangleMesh instance() {
+        return new TriangleMesh(this, colors.clone());
+    }
+
+    //
+    // Views
+    //
+
+    /**
+     * Gets a face of this mesh as a vertex.
+     *
+     * @param face Index of face
+     * @return Vertex view of face
+     */
+    @Nonnull
+    public Vertex face(int face) {
+        if (face < 0 || face >= faceCount()) {
+            throw new IndexOutOfBoundsException("Face " + face + " is out of range for " + faceCount() + " faces.");
+        }
+
+        return new MeshFace(this, face);
+    }
+
+    /**
+     * Gets a list of every face of this mesh as vertices.
+     * The list is a view, and creates its elements on access.
+     *
+     * @return List of vertex views
+     */
+    @Nonnull
+    public List<Vertex> faces() {
+        return new AbstractList<>() {
+            @Override
+            public Vertex get(int index) {
+                return face(index);
+            }
+
+            @Override
+            public int size() {
+                return faceCount();
+            }
+        };
+    }
+
+    //
+    // Transformation
+    //
+
+    /**
+     * Transforms every point of this mesh to a relative coordinate system, then inflates it.
+     * This is equivalent to calling {@link Vertex#transform(Vector3, Quaternion)} followed by
+     * {@link Vertex#inflate(double)} on every face, but allocates no objects when the target is large enough.
+     * <p>
+     * The target may be {@link #positions()} itself to transform this mesh in place.
+     * </p>
+     *
+     * @param origin   New origin
+     * @param rotation Rotation to apply to all points
+     * @param scale    Scale to inflate by
+     * @param target   Array to write the transformed coordinates to, or {@code null} to allocate one
+     * @return The target array if it was large enough, or a newly allocated array if not
+     */
+    @Nonnull
+    public double[] transform(
+            @Nonnull Vector3 origin,
+            @Nonnull Quaternion rotation,
+            double scale,
+            @Nullable double[] target
+    ) {
+        final double[] out = target != null && target.length >= positions.length
+                ? target
+                : new double[positions.length];
+
+        rotation.matrix().transform(
+                positions, 0, out, 0, pointCount(),
+                origin.x(), origin.y(), origin.z(), scale
+        );
+
+        return out;
+    }
+
+    /**
+     * Gets the approximate number of bytes retained by the arrays of this mesh.
+     * Object headers and array headers are not included.
+     *
+     * @return Approximate size in bytes
+     */
+    @Nonnegative
+    public long footprint() {
+        return (long) positions.length * Double.BYTES
+                + (long) indices.length * Integer.BYTES
+                + (long) colors.length * Integer.BYTES
+                + (long) reflectiveness.length * Float.BYTES;
+    }
+
+    /**
+     * Converts this mesh to a string.
+     *
+     * @return Stringified mesh
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "TriangleMesh{" +
+                "points=" + pointCount() +
+                ", faces=" + faceCount() +
+                '}';
+    }
+}
@@ -0,0 +1,98 @@
+package civitas.celestis.geometry.solid;
+
+import civitas.celestis.number.Vector3;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * <h2>BoundingBox</h2>
+ * <p>
+ * An axis-aligned bounding box.
+ * Bounding boxes are used as a cheap conservative approximation of a solid.
+ * </p>
+ *
+ * @param minimum Minimum corner of this box
+ * @param maximum Maximum corner of this box
+ */
+public record BoundingBox(
+        @Nonnull Vector3 minimum,
+        @Nonnull Vector3 maximum
+) {
+    /**
+     * Creates a bounding box which encloses a sphere of given radius.
+     *
+     * @param centroid Centroid of the box
+     * @param extent   Distance from the centroid to each face of the box
+     * @return Bounding box
+     */
+    @Nonnull
+    public static BoundingBox of(@Nonnull Vector3 centroid, @Nonnegative double extent) {
+        return new BoundingBox(centroid.subtract(extent), centroid.add(extent));
+    }
+
+    /**
+     * Gets the minimum value of this box along given axis.
+     *
+     * @param axis Index of axis (0 for X, 1 for Y, 2 for Z)
+     * @return Minimum value along axis
+     * @throws IndexOutOfBoundsException When the axis is not within the range of {@code 0-2}
+     */
+    public double minimum(int axis) throws IndexOutOfBoundsException {
+        return component(minimum, axis);
+    }
+
+    /**
+     * Gets the maximum value of this box along given axis.
+     *
+     * @param axis Index of axis (0 for X, 1 for Y, 2 for Z)
+     * @return Maximum value along axis
+     * @throws IndexOutOfBoundsException When the axis is not within the range of {@code 0-2}
+     */
+    public double maximum(int axis) throws IndexOutOfBoundsException {
+        return component(maximum, axis);
+    }
+
+    /**
+     * Gets the geometric center of this box.
+     *
+     * @return Center of box
+     */
+    @Nonnull
+    public Vector3 center() {
+        return minimum.add(maximum).divide(2);
+    }
+
+    /**
+     * Checks if this box contains given point.
+     *
+     * @param point Point to check
+     * @return {@code true} if the point is within the bounds of {@code this}
+     */
+    public boolean contains(@Nonnull Vector3 point) {
+        return point.x() >= minimum.x() && point.x() <= maximum.x() &&
+                point.y() >= minimum.y() && point.y() <= maximum.y() &&
+                point.z() >= minimum.z() && point.z() <= maximum.z();
+    }
+
+    /**
+     * Checks if this box overlaps another. Boxes which only touch are considered overlapping.
+     *
+     * @param other Box to check
+     * @return {@code true} if the two boxes overlap
+     */
+    public boolean overlaps(@Nonnull BoundingBox other) {
+        return minimum.x() <= other.maximum.x() && maximum.x() >= other.minimum.x() &&
+                minimum.y() <= other.maximum.y() && maximum.y() >= other.minimum.y() &&
+                minimum.z() <= other.maximum.z() && maximum.z() >= other.minimum.z();
+    }
+
+    private static double component(@Nonnull Vector3 v, int axis) throws IndexOutOfBoundsException {
+        return switch (axis) {
+            case 0 -> v.x();
+            case 1 -> v.y();
+            case 2 -> v.z();
+            default -> throw new IndexOutOfBoundsException("Axis index must be within the range of 0-2.");
+        };
+    }
+}
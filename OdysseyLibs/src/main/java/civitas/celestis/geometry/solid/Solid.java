@@ -1,5 +1,6 @@
 package civitas.celestis.geometry.solid;
 
+import civitas.celestis.geometry.mesh.TriangleMesh;
 import civitas.celestis.geometry.vertex.Vertex;
 import civitas.celestis.number.Quaternion;
 import civitas.celestis.number.Vector3;
@@ -25,6 +26,29 @@ public interface Solid {
     @Nonnull
     List<Vertex> vertices();
 
+    /**
+     * Gets a packed triangle mesh which can be rendered to a scene.
+     * The default implementation packs the list of {@link #vertices()}.
+     *
+     * @return Triangle mesh
+     */
+    @Nonnull
+    default TriangleMesh mesh() {
+        return TriangleMesh.of(vertices());
+    }
+
+    /**
+     * Gets a packed triangle mesh with given level of detail.
+     * Higher levels have more faces. Solids without levels of detail return {@link #mesh()}.
+     *
+     * @param level Level of detail
+     * @return Triangle mesh
+     */
+    @Nonnull
+    default TriangleMesh mesh(int level) {
+        return mesh();
+    }
+
     //
     // Geometry
     //
@@ -53,6 +77,15 @@ public interface Solid {
     @Nonnull
     List<Vector3> corners();
 
+    /**
+     * Gets the axis-aligned bounding box of this solid.
+     * The box must enclose every point this solid can overlap.
+     *
+     * @return Bounding box
+     */
+    @Nonnull
+    BoundingBox boundingBox();
+
     /**
      * Checks if this solid contains given point.
      *
@@ -1,14 +1,14 @@
 package civitas.celestis.geometry.solid;
 
 
-import civitas.celestis.geometry.vertex.ColoredVertex;
+import civitas.celestis.geometry.mesh.Icosphere;
+import civitas.celestis.geometry.mesh.TriangleMesh;
 import civitas.celestis.geometry.vertex.Vertex;
 import civitas.celestis.number.Quaternion;
 import civitas.celestis.number.Vector3;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.awt.*;
 import java.util.List;
 
 /**
@@ -24,27 +24,27 @@ public record Sphere(
         @Nonnull Quaternion rotation,
         @Nonnegative double radius
 ) implements Solid {
+    /**
+     * The level of detail of meshes built without a level.
+     */
+    public static final int DEFAULT_LEVEL = 2;
+
     @Nonnull
     @Override
     public List<Vertex> vertices() {
-        // FIXME Put in an algorithm to do this
-        final Vector3 a = centroid.add(new Vector3(radius, 0, 0).rotate(rotation));
-        final Vector3 b = centroid.add(new Vector3(-radius, 0, 0).rotate(rotation));
-        final Vector3 c = centroid.add(new Vector3(0, radius, 0).rotate(rotation));
-        final Vector3 d = centroid.add(new Vector3(0, -radius, 0).rotate(rotation));
-        final Vector3 e = centroid.add(new Vector3(0, 0, radius).rotate(rotation));
-        final Vector3 f = centroid.add(new Vector3(0, 0, -radius).rotate(rotation));
-
-        return List.of(
-                new ColoredVertex(a, f, d, Color.RED),
-                new ColoredVertex(a, c, f, Color.BLUE),
-                new ColoredVertex(b, f, c, Color.GREEN),
-                new ColoredVertex(d, f, b, Color.CYAN),
-                new ColoredVertex(a, e, c, Color.PINK),
-                new ColoredVertex(a, d, e, Color.GRAY),
-                new ColoredVertex(c, e, b, Color.DARK_GRAY),
-                new ColoredVertex(b, e, d, Color.YELLOW)
-        );
+        return mesh().faces();
+    }
+
+    @Nonnull
+    @Override
+    public TriangleMesh mesh() {
+        return mesh(DEFAULT_LEVEL);
+    }
+
+    @Nonnull
+    @Override
+    public TriangleMesh mesh(int level) {
+        return Icosphere.instance(Math.max(0, Math.min(Icosphere.MAX_LEVEL, level)), centroid, rotation, radius);
     }
 
     @Nonnull
@@ -53,6 +53,12 @@ public record Sphere(
         return List.of(); // Spheres have no corners
     }
 
+    @Nonnull
+    @Override
+    public BoundingBox boundingBox() {
+        return BoundingBox.of(centroid, radius);
+    }
+
     @Override
     public boolean contains(@Nonnull Vector3 point) {
         return centroid.distance2(point) <= Math.pow(radius, 2);
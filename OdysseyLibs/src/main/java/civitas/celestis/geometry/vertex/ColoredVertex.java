@@ -5,6 +5,7 @@ import civitas.celestis.geometry.ray.Ray;
 import civitas.celestis.geometry.solid.Solids;
 import civitas.celestis.graphics.Colors;
 import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.RotationMatrix;
 import civitas.celestis.number.Vector3;
 
 import javax.annotation.Nonnegative;
@@ -163,10 +164,12 @@ public class ColoredVertex implements Vertex {
     @Nonnull
     @Override
     public ColoredVertex transform(@Nonnull Vector3 origin, @Nonnull Quaternion rotation) {
+        final RotationMatrix matrix = rotation.matrix();
+
         return new ColoredVertex(
-                a.subtract(origin).rotate(rotation),
-                b.subtract(origin).rotate(rotation),
-                c.subtract(origin).rotate(rotation),
+                matrix.rotate(a.subtract(origin)),
+                matrix.rotate(b.subtract(origin)),
+                matrix.rotate(c.subtract(origin)),
                 color,
                 reflectiveness
         );
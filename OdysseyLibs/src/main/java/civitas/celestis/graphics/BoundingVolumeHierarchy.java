@@ -0,0 +1,568 @@
+package civitas.celestis.graphics;
+
+import civitas.celestis.geometry.ray.Ray;
+import civitas.celestis.geometry.vertex.Vertex;
+import civitas.celestis.number.Vector3;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <h2>BoundingVolumeHierarchy</h2>
+ * <p>
+ * An immutable bounding volume hierarchy over a list of vertices, used to find the nearest vertex hit by a ray.
+ * The hierarchy is built using the surface area heuristic, and is stored as flat primitive arrays.
+ * </p>
+ * <p>
+ * Nodes are stored in depth-first order, so the left child of a node always directly follows it.
+ * Subtrees deeper than {@value #MAX_SAH_DEPTH} levels are split at the median instead,
+ * which bounds the depth of the hierarchy for degenerate inputs.
+ * The coordinates of the vertices are copied when the hierarchy is built.
+ * Later changes to the positions of the vertices are not reflected, while changes to their colors are.
+ * </p>
+ * <p>
+ * Queries do not modify the hierarchy, and can be performed concurrently.
+ * </p>
+ */
+public final class BoundingVolumeHierarchy {
+    /**
+     * Builds a new hierarchy.
+     *
+     * @param vertices List of vertices to include
+     */
+    public BoundingVolumeHierarchy(@Nonnull List<? extends Vertex> vertices) {
+        final int count = vertices.size();
+
+        // Gather primitive bounds and centroids
+        final double[] primitiveBounds = new double[count * 6];
+        final double[] centroids = new double[count * 3];
+        final double[] coordinates = new double[count * 9];
+
+        for (int i = 0; i < count; i++) {
+            final Vertex v = vertices.get(i);
+            final Vector3[] points = {v.a(), v.b(), v.c()};
+
+            for (int p = 0; p < 3; p++) {
+                coordinates[i * 9 + p * 3] = points[p].x();
+                coordinates[i * 9 + p * 3 + 1] = points[p].y();
+                coordinates[i * 9 + p * 3 + 2] = points[p].z();
+            }
+
+            for (int axis = 0; axis < 3; axis++) {
+                final double a = coordinates[i * 9 + axis];
+                final double b = coordinates[i * 9 + 3 + axis];
+                final double c = coordinates[i * 9 + 6 + axis];
+
+                primitiveBounds[i * 6 + axis] = Math.min(a, Math.min(b, c));
+                primitiveBounds[i * 6 + 3 + axis] = Math.max(a, Math.max(b, c));
+                centroids[i * 3 + axis] = (a + b + c) / 3;
+            }
+        }
+
+        // Build tree over a permutation of primitive indices
+        final int[] order = new int[count];
+        Arrays.setAll(order, i -> i);
+
+        final Builder builder = new Builder(primitiveBounds, centroids, order, Math.max(1, 2 * count - 1));
+        if (count > 0) builder.build(0, count, 0);
+
+        this.bounds = Arrays.copyOf(builder.bounds, builder.nodeCount * 6);
+        this.nodes = Arrays.copyOf(builder.nodes, builder.nodeCount * 2);
+        this.stackSize = builder.maxDepth + 2;
+
+        // Store primitives in tree order
+        this.primitives = new Vertex[count];
+        this.triangles = new double[count * 9];
+
+        for (int i = 0; i < count; i++) {
+            primitives[i] = vertices.get(order[i]);
+            System.arraycopy(coordinates, order[i] * 9, triangles, i * 9, 9);
+        }
+    }
+
+    //
+    // Layout
+    //
+
+    /**
+     * Maximum number of primitives in a leaf.
+     */
+    private static final int MAX_LEAF_SIZE = 4;
+
+    /**
+     * Number of bins used to evaluate the surface area heuristic.
+     */
+    private static final int BIN_COUNT = 12;
+
+    /**
+     * Depth below which nodes are split at the median instead of by the surface area heuristic.
+     * The heuristic may produce arbitrarily unbalanced splits, while median splits halve the primitives on every level.
+     */
+    private static final int MAX_SAH_DEPTH = 48;
+
+    /**
+     * Minimum parametric distance of a hit. Prevents rays from hitting the surface they originate from.
+     */
+    private static final double EPSILON = 1e-9;
+
+    @Nonnull
+    private final Vertex[] primitives;
+    @Nonnull
+    private final double[] triangles; // 9 coordinates per primitive
+    @Nonnull
+    private final double[] bounds; // Minimum XYZ, maximum XYZ per node
+    @Nonnull
+    private final int[] nodes; // Leaf: first primitive, count / Interior: right child, 0
+    private final int stackSize; // Maximum number of pending nodes during traversal
+
+    /**
+     * Gets the number of vertices in this hierarchy.
+     *
+     * @return Number of vertices
+     */
+    @Nonnegative
+    public int size() {
+        return primitives.length;
+    }
+
+    /**
+     * Gets the number of nodes in this hierarchy.
+     *
+     * @return Number of nodes
+     */
+    @Nonnegative
+    public int nodeCount() {
+        return primitives.length == 0 ? 0 : nodes.length / 2;
+    }
+
+    /**
+     * Gets a vertex by its index in this hierarchy.
+     *
+     * @param index Index of vertex
+     * @return Vertex
+     */
+    @Nonnull
+    public Vertex vertex(int index) {
+        return primitives[index];
+    }
+
+    //
+    // Queries
+    //
+
+    /**
+     * Finds the nearest vertex hit by a ray.
+     *
+     * @param ray     Ray to shoot
+     * @param exclude Vertex to ignore (usually the vertex the ray originates from)
+     * @return Nearest hit if found, {@code null} if the ray hits nothing
+     */
+    @Nullable
+    public Hit nearest(@Nonnull Ray ray, @Nullable Vertex exclude) {
+        final Vector3 o = ray.origin();
+        final Vector3 d = ray.direction();
+        final double[] distance = new double[1];
+
+        final int index = nearest(o.x(), o.y(), o.z(), d.x(), d.y(), d.z(), exclude, distance);
+        if (index < 0) return null;
+
+        return new Hit(primitives[index], distance[0]);
+    }
+
+    /**
+     * Finds the nearest vertex hit by a ray without allocating any objects.
+     * Distances are measured in multiples of the direction vector, so they equal
+     * the actual distance when the direction is a unit vector.
+     *
+     * @param ox       X value of the ray's origin
+     * @param oy       Y value of the ray's origin
+     * @param oz       Z value of the ray's origin
+     * @param dx       X value of the ray's direction
+     * @param dy       Y value of the ray's direction
+     * @param dz       Z value of the ray's direction
+     * @param exclude  Vertex to ignore
+     * @param distance Array to write the distance of the hit to (at index {@code 0})
+     * @return Index of the nearest vertex, or {@code -1} if the ray hits nothing
+     */
+    public int nearest(
+            double ox, double oy, double oz,
+            double dx, double dy, double dz,
+            @Nullable Vertex exclude,
+            @Nonnull double[] distance
+    ) {
+        if (primitives.length == 0) return -1;
+
+        final double ix = inverse(dx), iy = inverse(dy), iz = inverse(dz);
+
+        final int[] stack = new int[stackSize];
+        int top = 0;
+        stack[top++] = 0;
+
+        int nearest = -1;
+        double best = Double.POSITIVE_INFINITY;
+
+        while (top > 0) {
+            final int node = stack[--top];
+            if (enter(node, ox, oy, oz, ix, iy, iz, best) == Double.POSITIVE_INFINITY) continue;
+
+            final int count = nodes[node * 2 + 1];
+
+            if (count > 0) {
+                // Leaf
+                final int first = nodes[node * 2];
+
+                for (int i = first; i < first + count; i++) {
+                    if (primitives[i] == exclude) continue;
+
+                    final double t = intersect(i, ox, oy, oz, dx, dy, dz);
+                    if (t < best) {
+                        best = t;
+                        nearest = i;
+                    }
+                }
+            } else {
+                // Interior; visit the nearer child first
+                final int left = node + 1;
+                final int right = nodes[node * 2];
+
+                final double tl = enter(left, ox, oy, oz, ix, iy, iz, best);
+                final double tr = enter(right, ox, oy, oz, ix, iy, iz, best);
+
+                if (tl <= tr) {
+                    if (tr != Double.POSITIVE_INFINITY) stack[top++] = right;
+                    if (tl != Double.POSITIVE_INFINITY) stack[top++] = left;
+                } else {
+                    if (tl != Double.POSITIVE_INFINITY) stack[top++] = left;
+                    stack[top++] = right;
+                }
+            }
+        }
+
+        distance[0] = best;
+        return nearest;
+    }
+
+    /**
+     * Inverts a component of a direction vector. Zero components are mapped to a finite value
+     * so that origins lying exactly on a bounding plane do not produce {@code NaN}.
+     *
+     * @param d Component to invert
+     * @return Inverse of component
+     */
+    private static double inverse(double d) {
+        return d != 0 ? 1 / d : Double.MAX_VALUE;
+    }
+
+    /**
+     * Gets the distance at which a ray enters the bounds of a node.
+     *
+     * @param node Index of node
+     * @param ox   X value of origin
+     * @param oy   Y value of origin
+     * @param oz   Z value of origin
+     * @param ix   Inverse of the X value of direction
+     * @param iy   Inverse of the Y value of direction
+     * @param iz   Inverse of the Z value of direction
+     * @param max  Maximum distance of interest
+     * @return Entry distance, or {@link Double#POSITIVE_INFINITY} if the ray misses within the maximum distance
+     */
+    private double enter(int node, double ox, double oy, double oz, double ix, double iy, double iz, double max) {
+        final int b = node * 6;
+
+        final double x1 = (bounds[b] - ox) * ix, x2 = (bounds[b + 3] - ox) * ix;
+        final double y1 = (bounds[b + 1] - oy) * iy, y2 = (bounds[b + 4] - oy) * iy;
+        final double z1 = (bounds[b + 2] - oz) * iz, z2 = (bounds[b + 5] - oz) * iz;
+
+        final double near = Math.max(Math.max(Math.min(x1, x2), Math.min(y1, y2)), Math.max(Math.min(z1, z2), 0));
+        final double far = Math.min(Math.min(Math.max(x1, x2), Math.max(y1, y2)), Math.max(z1, z2));
+
+        return near <= far && near < max ? near : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Intersects a ray with a primitive using the Moller-Trumbore algorithm.
+     *
+     * @param i  Index of primitive
+     * @param ox X value of origin
+     * @param oy Y value of origin
+     * @param oz Z value of origin
+     * @param dx X value of direction
+     * @param dy Y value of direction
+     * @param dz Z value of direction
+     * @return Distance of intersection, or {@link Double#POSITIVE_INFINITY} if the ray misses
+     */
+    private double intersect(int i, double ox, double oy, double oz, double dx, double dy, double dz) {
+        final int p = i * 9;
+        final double ax = triangles[p], ay = triangles[p + 1], az = triangles[p + 2];
+
+        final double e1x = triangles[p + 3] - ax, e1y = triangles[p + 4] - ay, e1z = triangles[p + 5] - az;
+        final double e2x = triangles[p + 6] - ax, e2y = triangles[p + 7] - ay, e2z = triangles[p + 8] - az;
+
+        // P = D x E2
+        final double px = dy * e2z - dz * e2y, py = dz * e2x - dx * e2z, pz = dx * e2y - dy * e2x;
+        final double det = e1x * px + e1y * py + e1z * pz;
+        if (det == 0) return Double.POSITIVE_INFINITY; // Parallel
+
+        final double inv = 1 / det;
+        final double sx = ox - ax, sy = oy - ay, sz = oz - az;
+
+        final double u = (sx * px + sy * py + sz * pz) * inv;
+        if (u < 0 || u > 1) return Double.POSITIVE_INFINITY;
+
+        // Q = S x E1
+        final double qx = sy * e1z - sz * e1y, qy = sz * e1x - sx * e1z, qz = sx * e1y - sy * e1x;
+
+        final double v = (dx * qx + dy * qy + dz * qz) * inv;
+        if (v < 0 || u + v > 1) return Double.POSITIVE_INFINITY;
+
+        final double t = (e2x * qx + e2y * qy + e2z * qz) * inv;
+        return t > EPSILON ? t : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * The result of a ray query.
+     *
+     * @param vertex   Vertex which was hit
+     * @param distance Distance from the origin of the ray to the hit
+     */
+    public record Hit(
+            @Nonnull Vertex vertex,
+            @Nonnegative double distance
+    ) {}
+
+    /**
+     * A transient builder which produces the flattened node arrays.
+     */
+    private static final class Builder {
+        private Builder(@Nonnull double[] primitiveBounds, @Nonnull double[] centroids, @Nonnull int[] order, int capacity) {
+            this.primitiveBounds = primitiveBounds;
+            this.centroids = centroids;
+            this.order = order;
+            this.bounds = new double[capacity * 6];
+            this.nodes = new int[capacity * 2];
+        }
+
+        private final double[] primitiveBounds;
+        private final double[] centroids;
+        private final int[] order;
+        private final double[] bounds;
+        private final int[] nodes;
+        private int nodeCount = 0;
+        private int maxDepth = 0;
+
+        /**
+         * Builds a subtree over a range of the primitive order.
+         *
+         * @param start First index (inclusive)
+         * @param end   Last index (exclusive)
+         * @param depth Depth of the root node of the subtree
+         * @return Index of the root node of the subtree
+         */
+        private int build(int start, int end, int depth) {
+            final int node = nodeCount++;
+            final int count = end - start;
+            maxDepth = Math.max(maxDepth, depth);
+
+            // Compute node bounds and centroid bounds
+            final double[] nodeBounds = empty();
+            final double[] centroidBounds = empty();
+
+            for (int i = start; i < end; i++) {
+                final int p = order[i];
+                for (int axis = 0; axis < 3; axis++) {
+                    nodeBounds[axis] = Math.min(nodeBounds[axis], primitiveBounds[p * 6 + axis]);
+                    nodeBounds[axis + 3] = Math.max(nodeBounds[axis + 3], primitiveBounds[p * 6 + 3 + axis]);
+                    centroidBounds[axis] = Math.min(centroidBounds[axis], centroids[p * 3 + axis]);
+                    centroidBounds[axis + 3] = Math.max(centroidBounds[axis + 3], centroids[p * 3 + axis]);
+                }
+            }
+
+            System.arraycopy(nodeBounds, 0, bounds, node * 6, 6);
+
+            if (count <= MAX_LEAF_SIZE) return leaf(node, start, count);
+            if (depth >= MAX_SAH_DEPTH) return median(node, start, end, depth, centroidBounds);
+
+            // Evaluate the surface area heuristic over binned split candidates on every axis
+            int bestAxis = -1;
+            int bestSplit = -1;
+            double bestCost = Double.POSITIVE_INFINITY;
+
+            for (int axis = 0; axis < 3; axis++) {
+                final double min = centroidBounds[axis];
+                final double extent = centroidBounds[axis + 3] - min;
+                if (extent <= 0) continue;
+
+                final int[] binCounts = new int[BIN_COUNT];
+                final double[][] binBounds = new double[BIN_COUNT][];
+                for (int b = 0; b < BIN_COUNT; b++) binBounds[b] = empty();
+
+                for (int i = start; i < end; i++) {
+                    final int p = order[i];
+                    final int b = bin(centroids[p * 3 + axis], min, extent);
+                    binCounts[b]++;
+                    include(binBounds[b], primitiveBounds, p * 6);
+                }
+
+                // Sweep from the right to accumulate right-side areas
+                final double[] rightAreas = new double[BIN_COUNT];
+                final int[] rightCounts = new int[BIN_COUNT];
+                double[] accumulated = empty();
+                int accumulatedCount = 0;
+
+                for (int b = BIN_COUNT - 1; b > 0; b--) {
+                    include(accumulated, binBounds[b], 0);
+                    accumulatedCount += binCounts[b];
+                    rightAreas[b] = area(accumulated);
+                    rightCounts[b] = accumulatedCount;
+                }
+
+                // Sweep from the left and evaluate each split plane
+                accumulated = empty();
+                accumulatedCount = 0;
+
+                for (int b = 0; b < BIN_COUNT - 1; b++) {
+                    include(accumulated, binBounds[b], 0);
+                    accumulatedCount += binCounts[b];
+
+                    if (accumulatedCount == 0 || rightCounts[b + 1] == 0) continue;
+
+                    final double cost = area(accumulated) * accumulatedCount + rightAreas[b + 1] * rightCounts[b + 1];
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        bestAxis = axis;
+                        bestSplit = b;
+                    }
+                }
+            }
+
+            // All centroids coincide; no split can separate them
+            if (bestAxis < 0) return leaf(node, start, count);
+
+            // Partition primitives around the chosen split plane
+            final double min = centroidBounds[bestAxis];
+            final double extent = centroidBounds[bestAxis + 3] - min;
+
+            int mid = start;
+            for (int i = start; i < end; i++) {
+                if (bin(centroids[order[i] * 3 + bestAxis], min, extent) <= bestSplit) {
+                    final int swap = order[i];
+                    order[i] = order[mid];
+                    order[mid++] = swap;
+                }
+            }
+
+            return interior(node, start, mid, end, depth);
+        }
+
+        /**
+         * Splits a node at the median centroid along the axis of largest centroid extent.
+         *
+         * @param node           Index of node
+         * @param start          First index (inclusive)
+         * @param end            Last index (exclusive)
+         * @param depth          Depth of node
+         * @param centroidBounds Bounds of the centroids of the node
+         * @return Index of node
+         */
+        private int median(int node, int start, int end, int depth, @Nonnull double[] centroidBounds) {
+            int axis = 0;
+            for (int a = 1; a < 3; a++) {
+                if (centroidBounds[a + 3] - centroidBounds[a] > centroidBounds[axis + 3] - centroidBounds[axis]) axis = a;
+            }
+
+            // All centroids coincide; no split can separate them
+            if (centroidBounds[axis + 3] - centroidBounds[axis] <= 0) return leaf(node, start, end - start);
+
+            final int mid = (start + end) >>> 1;
+            select(start, end, mid, axis);
+
+            return interior(node, start, mid, end, depth);
+        }
+
+        /**
+         * Partially orders a range so that the primitive at the given index has the centroid it would have
+         * if the range were sorted along an axis, with no larger centroids before it and no smaller ones after it.
+         *
+         * @param start First index (inclusive)
+         * @param end   Last index (exclusive)
+         * @param k     Index to select
+         * @param axis  Axis to order by
+         */
+        private void select(int start, int end, int k, int axis) {
+            int lo = start, hi = end - 1;
+
+            while (lo < hi) {
+                final double pivot = centroids[order[(lo + hi) >>> 1] * 3 + axis];
+                int i = lo, j = hi;
+
+                while (i <= j) {
+                    while (centroids[order[i] * 3 + axis] < pivot) i++;
+                    while (centroids[order[j] * 3 + axis] > pivot) j--;
+
+                    if (i <= j) {
+                        final int swap = order[i];
+                        order[i++] = order[j];
+                        order[j--] = swap;
+                    }
+                }
+
+                if (k <= j) hi = j;
+                else if (k >= i) lo = i;
+                else return;
+            }
+        }
+
+        /**
+         * Builds both children of an interior node.
+         *
+         * @param node  Index of node
+         * @param start First index (inclusive)
+         * @param mid   First index of the right child
+         * @param end   Last index (exclusive)
+         * @param depth Depth of node
+         * @return Index of node
+         */
+        private int interior(int node, int start, int mid, int end, int depth) {
+            build(start, mid, depth + 1);
+            final int right = build(mid, end, depth + 1);
+
+            nodes[node * 2] = right;
+            nodes[node * 2 + 1] = 0;
+            return node;
+        }
+
+        private int leaf(int node, int start, int count) {
+            nodes[node * 2] = start;
+            nodes[node * 2 + 1] = count;
+            return node;
+        }
+
+        private static int bin(double centroid, double min, double extent) {
+            return Math.min(BIN_COUNT - 1, (int) (BIN_COUNT * ((centroid - min) / extent)));
+        }
+
+        @Nonnull
+        private static double[] empty() {
+            return new double[]{
+                    Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+            };
+        }
+
+        private static void include(@Nonnull double[] target, @Nonnull double[] source, int offset) {
+            for (int axis = 0; axis < 3; axis++) {
+                target[axis] = Math.min(target[axis], source[offset + axis]);
+                target[axis + 3] = Math.max(target[axis + 3], source[offset + 3 + axis]);
+            }
+        }
+
+        private static double area(@Nonnull double[] box) {
+            final double x = box[3] - box[0], y = box[4] - box[1], z = box[5] - box[2];
+            if (x < 0 || y < 0 || z < 0) return 0;
+            return 2 * (x * y + y * z + z * x);
+        }
+    }
+}
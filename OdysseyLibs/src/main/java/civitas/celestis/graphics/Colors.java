@@ -33,4 +33,19 @@ public final class Colors {
 
         return new Color((int) red, (int) green, (int) blue, alpha);
     }
+
+    /**
+     * Brightens a packed ARGB color proportionally to given intensity.
+     *
+     * @param argb      Input color
+     * @param intensity Intensity of light
+     * @return Brightened color
+     */
+    public static int brighten(int argb, @Nonnegative double intensity) {
+        final int red = (int) Math.min(((argb >> 16) & 0xFF) + intensity, 255);
+        final int green = (int) Math.min(((argb >> 8) & 0xFF) + intensity, 255);
+        final int blue = (int) Math.min((argb & 0xFF) + intensity, 255);
+
+        return (argb & 0xFF000000) | (red << 16) | (green << 8) | blue;
+    }
 }
@@ -1,7 +1,9 @@
 package civitas.celestis.graphics;
 
+import civitas.celestis.geometry.mesh.TriangleMesh;
 import civitas.celestis.geometry.ray.Ray;
 import civitas.celestis.geometry.vertex.Vertex;
+import civitas.celestis.metrics.flight.RayEvent;
 import civitas.celestis.number.Quaternion;
 import civitas.celestis.number.Vector3;
 
@@ -10,7 +12,6 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -44,6 +45,7 @@ public class Scene {
      */
     public Scene(@Nonnull List<Vertex> vertices) {
         this.vertices = vertices;
+        this.meshes = new ArrayList<>();
     }
 
     //
@@ -82,6 +84,7 @@ public class Scene {
      */
     public void addVertex(@Nonnull Vertex vertex) {
         vertices.add(vertex);
+        hierarchy = null;
     }
 
     /**
@@ -91,6 +94,7 @@ public class Scene {
      */
     public void addVertices(@Nonnull Collection<Vertex> vertices) {
         this.vertices.addAll(vertices);
+        hierarchy = null;
     }
 
     /**
@@ -100,6 +104,7 @@ public class Scene {
      */
     public void removeVertex(@Nonnull Vertex vertex) {
         vertices.remove(vertex);
+        hierarchy = null;
     }
 
     /**
@@ -109,6 +114,54 @@ public class Scene {
      */
     public void removeVertices(@Nonnull Collection<Vertex> vertices) {
         this.vertices.removeAll(vertices);
+        hierarchy = null;
+    }
+
+    //
+    // Meshes
+    //
+    @Nonnull
+    protected final List<TriangleMesh> meshes;
+
+    /**
+     * Gets a list of meshes in this scene.
+     * Faces of meshes are not included in {@link #getVertices()}.
+     *
+     * @return List of meshes
+     */
+    @Nonnull
+    public List<TriangleMesh> getMeshes() {
+        return new ArrayList<>(meshes);
+    }
+
+    /**
+     * Adds a mesh to this scene.
+     *
+     * @param mesh Mesh to add
+     */
+    public void addMesh(@Nonnull TriangleMesh mesh) {
+        meshes.add(mesh);
+        hierarchy = null;
+    }
+
+    /**
+     * Adds a collection of meshes to this scene.
+     *
+     * @param meshes Collection of meshes
+     */
+    public void addMeshes(@Nonnull Collection<TriangleMesh> meshes) {
+        this.meshes.addAll(meshes);
+        hierarchy = null;
+    }
+
+    /**
+     * Removes a mesh from this scene.
+     *
+     * @param mesh Mesh to remove
+     */
+    public void removeMesh(@Nonnull TriangleMesh mesh) {
+        meshes.remove(mesh);
+        hierarchy = null;
     }
 
     /**
@@ -116,6 +169,48 @@ public class Scene {
      */
     public void clear() {
         vertices.clear();
+        meshes.clear();
+        hierarchy = null;
+    }
+
+    //
+    // Acceleration
+    //
+    @Nullable
+    private volatile BoundingVolumeHierarchy hierarchy = null;
+
+    /**
+     * Gets the bounding volume hierarchy of this scene.
+     * The hierarchy covers both vertices and the faces of meshes,
+     * and is rebuilt lazily after vertices or meshes are added or removed.
+     * Vertices and meshes which are moved in place are not tracked; call {@link #invalidate()} after doing so.
+     *
+     * @return Bounding volume hierarchy
+     */
+    @Nonnull
+    public BoundingVolumeHierarchy getHierarchy() {
+        BoundingVolumeHierarchy current = hierarchy;
+        if (current != null) return current;
+
+        synchronized (this) {
+            current = hierarchy;
+            if (current == null) {
+                final List<Vertex> primitives = new ArrayList<>(vertices);
+                for (final TriangleMesh mesh : List.copyOf(meshes)) primitives.addAll(mesh.faces());
+
+                current = new BoundingVolumeHierarchy(primitives);
+                hierarchy = current;
+            }
+        }
+
+        return current;
+    }
+
+    /**
+     * Discards the bounding volume hierarchy of this scene, causing it to be rebuilt on the next query.
+     */
+    public void invalidate() {
+        hierarchy = null;
     }
 
     //
@@ -129,7 +224,18 @@ public class Scene {
      * @param limit Maximum allowed number of reflections
      */
     public void shootRay(@Nonnull Ray ray, @Nonnegative int limit) {
-        shootRay(ray, limit, null);
+        final RayEvent event = new RayEvent();
+        event.begin();
+
+        final int bounces = shootRay(ray, limit, null);
+        event.end();
+
+        if (event.shouldCommit()) {
+            event.bounces = bounces;
+            event.limit = limit;
+            event.vertices = getHierarchy().size();
+            event.commit();
+        }
     }
 
     /**
@@ -138,26 +244,22 @@ public class Scene {
      * @param ray    Ray to shoot
      * @param limit  Remaining number of reflections
      * @param origin Vertex this ray originated from
+     * @return Number of vertices hit by this ray and its reflections
      */
-    protected void shootRay(@Nonnull Ray ray, @Nonnegative int limit, @Nullable Vertex origin) {
-        if (limit == 0) return; // Terminate
+    protected int shootRay(@Nonnull Ray ray, @Nonnegative int limit, @Nullable Vertex origin) {
+        if (limit == 0) return 0; // Terminate
 
-        final List<Vertex> vertices = getVertices();
-        if (origin != null) vertices.remove(origin); // Exclude origin
+        final BoundingVolumeHierarchy.Hit hit = getHierarchy().nearest(ray, origin);
+        if (hit == null) return 0; // Nothing was hit
 
-        // Sort by distance to minimize unnecessary iterations
-        vertices.sort(Comparator.comparing(v -> v.centroid().distance2(ray.origin())));
+        final Vertex v = hit.vertex();
+        final Ray reflection = ray.reflection(v);
+        if (reflection == null) return 0;
 
-        for (Vertex v : vertices) {
-            final Ray reflection = ray.reflection(v);
-            if (reflection == null) continue;
+        // Notify vertex
+        v.onRayHit(ray);
 
-            // Notify vertex
-            v.onRayHit(ray);
-
-            // Shoot reflection ray
-            shootRay(reflection, limit - 1, v);
-            return; // Break loop
-        }
+        // Shoot reflection ray
+        return 1 + shootRay(reflection, limit - 1, v);
     }
 }
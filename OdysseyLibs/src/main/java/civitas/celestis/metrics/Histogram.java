@@ -0,0 +1,190 @@
+package civitas.celestis.metrics;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <h2>Histogram</h2>
+ * <p>
+ * A lock-free histogram of non-negative values, typically durations in nanoseconds.
+ * Buckets are log-linear: every power of two is split into {@value #SUB_BUCKETS} equal sub-buckets,
+ * so recorded values keep a relative precision of about 3% across the whole range.
+ * </p>
+ * <p>
+ * Recording a value costs a few bit operations and one atomic increment, and never allocates.
+ * Values of {@code 2^41} or more (about 36 minutes in nanoseconds) are counted in the last bucket.
+ * </p>
+ */
+@ThreadSafe
+public final class Histogram {
+    /**
+     * The number of sub-buckets per power of two.
+     */
+    public static final int SUB_BUCKETS = 32;
+
+    private static final int SUB_BITS = 5;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BITS + 2) * SUB_BUCKETS;
+
+    /**
+     * Creates a new empty histogram.
+     */
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+    }
+
+    @Nonnull
+    private final AtomicLongArray counts;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value Value to record
+     */
+    public void record(long value) {
+        final long v = Math.max(0, value);
+
+        counts.incrementAndGet(index(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+
+        long m;
+        while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return Number of values
+     */
+    @Nonnegative
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * Gets the largest recorded value.
+     *
+     * @return Maximum value, or {@code 0} if nothing has been recorded
+     */
+    @Nonnegative
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     *
+     * @return Mean value, or {@code 0} if nothing has been recorded
+     */
+    @Nonnegative
+    public double mean() {
+        final long n = count.get();
+        return n == 0 ? 0 : (double) sum.get() / n;
+    }
+
+    /**
+     * Gets an approximate percentile of the recorded values.
+     * The result is the lower bound of the bucket which contains the percentile.
+     *
+     * @param percentile Percentile between {@code 0} and {@code 100}
+     * @return Value at the percentile, or {@code 0} if nothing has been recorded
+     * @throws IllegalArgumentException When the percentile is not between {@code 0} and {@code 100}
+     */
+    @Nonnegative
+    public long percentile(double percentile) throws IllegalArgumentException {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += counts.get(i);
+        if (total == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return i == BUCKETS - 1 ? max.get() : Math.min(lowerBound(i), max.get());
+        }
+
+        return max.get();
+    }
+
+    /**
+     * Clears every recorded value.
+     * Values recorded concurrently with a reset may or may not be kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    //
+    // Buckets
+    //
+
+    /**
+     * Gets the index of the bucket which contains a value.
+     *
+     * @param value Non-negative value
+     * @return Index of bucket
+     */
+    private static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+
+        final int exponent = Math.min(MAX_EXPONENT, 63 - Long.numberOfLeadingZeros(value));
+        if (exponent == MAX_EXPONENT && value >>> (MAX_EXPONENT + 1) != 0) return BUCKETS - 1;
+
+        // The top SUB_BITS + 1 bits of the value, which lie in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        final int mantissa = (int) (value >>> (exponent - SUB_BITS));
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + (mantissa - SUB_BUCKETS);
+    }
+
+    /**
+     * Gets the smallest value which falls into a bucket.
+     *
+     * @param index Index of bucket
+     * @return Lower bound of bucket
+     */
+    private static long lowerBound(int index) {
+        final int block = index / SUB_BUCKETS;
+        final int offset = index % SUB_BUCKETS;
+
+        if (block == 0) return offset;
+        return (long) (SUB_BUCKETS + offset) << (block - 1);
+    }
+
+    /**
+     * Serializes this histogram into a string.
+     *
+     * @return Stringified histogram
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "Histogram{" +
+                "count=" + count() +
+                ", mean=" + mean() +
+                ", p50=" + percentile(50) +
+                ", p99=" + percentile(99) +
+                ", max=" + max() +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package civitas.celestis.metrics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * <h2>MetricsRegistry</h2>
+ * <p>
+ * A named collection of histograms, counters and gauges.
+ * Histograms and counters are created on first use, and the same instance is returned for a name thereafter.
+ * Gauges are read only when a snapshot is taken, so registering one costs nothing while the engine runs.
+ * </p>
+ * <p>
+ * Names are dot-separated, starting with the module which records them. (e.g. {@code world.Earth.tick})
+ * </p>
+ */
+@ThreadSafe
+public final class MetricsRegistry {
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Gets a histogram by name, creating it if necessary.
+     *
+     * @param name Name of histogram
+     * @return Histogram
+     */
+    @Nonnull
+    public Histogram histogram(@Nonnull String name) {
+        final Histogram histogram = histograms.get(name);
+        if (histogram != null) return histogram;
+
+        return histograms.computeIfAbsent(name, n -> new Histogram());
+    }
+
+    /**
+     * Gets a counter by name, creating it if necessary.
+     *
+     * @param name Name of counter
+     * @return Counter
+     */
+    @Nonnull
+    public LongAdder counter(@Nonnull String name) {
+        final LongAdder counter = counters.get(name);
+        if (counter != null) return counter;
+
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge of the same name.
+     *
+     * @param name  Name of gauge
+     * @param gauge Supplier of the current value
+     */
+    public void gauge(@Nonnull String name, @Nonnull LongSupplier gauge) {
+        gauges.put(name, gauge);
+    }
+
+    /**
+     * Unregisters a gauge.
+     *
+     * @param name Name of gauge
+     */
+    public void removeGauge(@Nonnull String name) {
+        gauges.remove(name);
+    }
+
+    /**
+     * Unregisters a gauge, but only if it is still registered under given name.
+     * This lets an owner remove its gauge without removing a gauge which has since replaced it.
+     *
+     * @param name  Name of gauge
+     * @param gauge Gauge to remove
+     */
+    public void removeGauge(@Nonnull String name, @Nonnull LongSupplier gauge) {
+        gauges.remove(name, gauge);
+    }
+
+    /**
+     * Reads the current value of a gauge.
+     *
+     * @param name Name of gauge
+     * @return Current value, or {@code null} if no gauge of given name is registered
+     */
+    @Nullable
+    public Long readGauge(@Nonnull String name) {
+        final LongSupplier gauge = gauges.get(name);
+        return gauge != null ? gauge.getAsLong() : null;
+    }
+
+    /**
+     * Gets every histogram of this registry, sorted by name.
+     *
+     * @return Map of histograms
+     */
+    @Nonnull
+    public Map<String, Histogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Gets the current value of every counter of this registry, sorted by name.
+     *
+     * @return Map of counter values
+     */
+    @Nonnull
+    public Map<String, Long> getCounters() {
+        final Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.sum()));
+        return result;
+    }
+
+    /**
+     * Reads every gauge of this registry, sorted by name.
+     *
+     * @return Map of gauge values
+     */
+    @Nonnull
+    public Map<String, Long> getGauges() {
+        final Map<String, Long> result = new TreeMap<>();
+        gauges.forEach((name, gauge) -> result.put(name, gauge.getAsLong()));
+        return result;
+    }
+
+    /**
+     * Clears every histogram and counter. Gauges are kept.
+     */
+    public void reset() {
+        histograms.values().forEach(Histogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+}
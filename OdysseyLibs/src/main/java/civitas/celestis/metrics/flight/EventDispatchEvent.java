@@ -0,0 +1,31 @@
+package civitas.celestis.metrics.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <h2>EventDispatchEvent</h2>
+ * <p>A flight recorder event emitted for every dispatch of an engine event to its handlers.</p>
+ * <p>
+ * This event is frequent, so only dispatches which take at least one millisecond are recorded by default.
+ * The threshold can be lowered in the recording settings.
+ * </p>
+ */
+@Name("civitas.celestis.EventDispatch")
+@Label("Event Dispatch")
+@Category({"Odyssey", "Events"})
+@Description("A single dispatch of an engine event to its handlers")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class EventDispatchEvent extends Event {
+    @Label("Event Type")
+    public Class<?> eventType;
+
+    @Label("Handler Count")
+    public int handlers;
+}
@@ -0,0 +1,42 @@
+package civitas.celestis.metrics.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <h2>FrameEvent</h2>
+ * <p>A flight recorder event emitted when a viewport renders or paints a frame.</p>
+ */
+@Name("civitas.celestis.Frame")
+@Label("Frame")
+@Category({"Odyssey", "Graphics"})
+@Description("Rendering or painting of a single viewport frame")
+@StackTrace(false)
+public final class FrameEvent extends Event {
+    @Label("Phase")
+    @Description("Either render or paint")
+    public String phase;
+
+    @Label("Render Mode")
+    public String mode;
+
+    @Label("World")
+    public String world;
+
+    @Label("Mesh Count")
+    public int meshes;
+
+    @Label("Vertex Count")
+    @Description("Number of faces across every mesh and loose vertex of the scene")
+    public int vertices;
+
+    @Label("Width")
+    public int width;
+
+    @Label("Height")
+    public int height;
+}
@@ -0,0 +1,36 @@
+package civitas.celestis.metrics.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * <h2>RayEvent</h2>
+ * <p>A flight recorder event emitted for every ray shot into a scene, including its reflections.</p>
+ * <p>
+ * This event is frequent, so only rays which take at least one millisecond are recorded by default.
+ * The threshold can be lowered in the recording settings.
+ * </p>
+ */
+@Name("civitas.celestis.Ray")
+@Label("Ray")
+@Category({"Odyssey", "Graphics"})
+@Description("A ray shot into a scene, followed through its reflections")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class RayEvent extends Event {
+    @Label("Bounces")
+    @Description("Number of vertices the ray hit before terminating")
+    public int bounces;
+
+    @Label("Bounce Limit")
+    public int limit;
+
+    @Label("Vertex Count")
+    @Description("Number of vertices in the bounding volume hierarchy of the scene")
+    public int vertices;
+}
@@ -0,0 +1,34 @@
+package civitas.celestis.metrics.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * <h2>TaskRunEvent</h2>
+ * <p>A flight recorder event emitted for every execution of a scheduled task.</p>
+ * <p>
+ * This event is frequent, so only executions which take at least one millisecond are recorded by default.
+ * The threshold can be lowered in the recording settings.
+ * </p>
+ */
+@Name("civitas.celestis.TaskRun")
+@Label("Task Run")
+@Category({"Odyssey", "Scheduler"})
+@Description("A single execution of a scheduled task")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class TaskRunEvent extends Event {
+    @Label("Task")
+    public Class<?> task;
+
+    @Label("Lateness")
+    @Description("Time between the deadline of the task and the start of its execution")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lateness;
+}
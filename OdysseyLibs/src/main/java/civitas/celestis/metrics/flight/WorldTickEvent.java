@@ -0,0 +1,38 @@
+package civitas.celestis.metrics.flight;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * <h2>WorldTickEvent</h2>
+ * <p>A flight recorder event emitted for every tick of a world.</p>
+ */
+@Name("civitas.celestis.WorldTick")
+@Label("World Tick")
+@Category({"Odyssey", "World"})
+@Description("A single tick of a world, split into its collision and object phases")
+@StackTrace(false)
+public final class WorldTickEvent extends Event {
+    @Label("World")
+    public String world;
+
+    @Label("Object Count")
+    public int objects;
+
+    @Label("Delta")
+    @Timespan(Timespan.NANOSECONDS)
+    public long delta;
+
+    @Label("Collision Phase")
+    @Timespan(Timespan.NANOSECONDS)
+    public long collisionTime;
+
+    @Label("Object Phase")
+    @Timespan(Timespan.NANOSECONDS)
+    public long objectTime;
+}
@@ -0,0 +1,266 @@
+package civitas.celestis.number;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * <h2>MutableQuaternion</h2>
+ * <p>
+ * A mutable quaternion, intended for inner loops which must not allocate.
+ * Every operation modifies {@code this} in place and returns it, so calls can be chained.
+ * Multiplication follows the same convention as {@link Quaternion#multiply(Quaternion)}.
+ * </p>
+ * <p>
+ * Unlike {@link Quaternion}, values are not validated on every operation.
+ * Non-finite values are detected when converting to an immutable quaternion using {@link #toQuaternion()}.
+ * </p>
+ */
+@NotThreadSafe
+public class MutableQuaternion {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new identity quaternion.
+     */
+    public MutableQuaternion() {
+        this(1, 0, 0, 0);
+    }
+
+    /**
+     * Creates a new quaternion.
+     *
+     * @param w W value of this quaternion
+     * @param x X value of this quaternion
+     * @param y Y value of this quaternion
+     * @param z Z value of this quaternion
+     */
+    public MutableQuaternion(double w, double x, double y, double z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Creates a new quaternion from an immutable quaternion.
+     *
+     * @param q Quaternion to copy
+     */
+    public MutableQuaternion(@Nonnull Quaternion q) {
+        this(q.w(), q.x(), q.y(), q.z());
+    }
+
+    //
+    // Variables
+    //
+
+    private double w;
+    private double x;
+    private double y;
+    private double z;
+
+    /**
+     * Scratch buffer for kernels which write into arrays.
+     */
+    private final double[] scratch = new double[4];
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the W value of this quaternion.
+     *
+     * @return W value
+     */
+    public double w() {
+        return w;
+    }
+
+    /**
+     * Gets the X value of this quaternion.
+     *
+     * @return X value
+     */
+    public double x() {
+        return x;
+    }
+
+    /**
+     * Gets the Y value of this quaternion.
+     *
+     * @return Y value
+     */
+    public double y() {
+        return y;
+    }
+
+    /**
+     * Gets the Z value of this quaternion.
+     *
+     * @return Z value
+     */
+    public double z() {
+        return z;
+    }
+
+    /**
+     * Gets the squared magnitude of this quaternion.
+     *
+     * @return Squared magnitude
+     */
+    @Nonnegative
+    public double magnitude2() {
+        return w * w + x * x + y * y + z * z;
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the values of this quaternion.
+     *
+     * @param w W value
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion set(double w, double x, double y, double z) {
+        this.w = w;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the values of another quaternion into this quaternion.
+     *
+     * @param q Quaternion to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion set(@Nonnull MutableQuaternion q) {
+        return set(q.w, q.x, q.y, q.z);
+    }
+
+    /**
+     * Copies the values of an immutable quaternion into this quaternion.
+     *
+     * @param q Quaternion to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion set(@Nonnull Quaternion q) {
+        return set(q.w(), q.x(), q.y(), q.z());
+    }
+
+    //
+    // In-place Arithmetic
+    //
+
+    /**
+     * Multiplies this quaternion by another quaternion.
+     *
+     * @param q Quaternion to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion multiply(@Nonnull MutableQuaternion q) {
+        Quaternion.multiply(w, x, y, z, q.w, q.x, q.y, q.z, scratch, 0);
+        return set(scratch[0], scratch[1], scratch[2], scratch[3]);
+    }
+
+    /**
+     * Multiplies this quaternion by an immutable quaternion.
+     *
+     * @param q Quaternion to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion multiply(@Nonnull Quaternion q) {
+        Quaternion.multiply(w, x, y, z, q.w(), q.x(), q.y(), q.z(), scratch, 0);
+        return set(scratch[0], scratch[1], scratch[2], scratch[3]);
+    }
+
+    /**
+     * Multiplies this quaternion by a scalar.
+     *
+     * @param s Scalar to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion multiply(double s) {
+        return set(w * s, x * s, y * s, z * s);
+    }
+
+    /**
+     * Sets this quaternion to its conjugate.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion conjugate() {
+        return set(w, -x, -y, -z);
+    }
+
+    /**
+     * Normalizes this quaternion to a unit quaternion.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableQuaternion normalize() {
+        return multiply(Numbers.isqrt(magnitude2()));
+    }
+
+    /**
+     * Rotates a vector by this quaternion in place.
+     * This is equivalent to {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param v Vector to rotate
+     * @return The rotated vector
+     */
+    @Nonnull
+    public MutableVector3 rotate(@Nonnull MutableVector3 v) {
+        Quaternion.rotate(w, x, y, z, v.x(), v.y(), v.z(), scratch, 0);
+        return v.set(scratch[0], scratch[1], scratch[2]);
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this quaternion to an immutable quaternion.
+     *
+     * @return Immutable quaternion
+     * @throws IllegalArgumentException When this quaternion contains a non-finite value
+     */
+    @Nonnull
+    public Quaternion toQuaternion() throws IllegalArgumentException {
+        return new Quaternion(w, x, y, z);
+    }
+
+    /**
+     * Serializes this quaternion into a string.
+     *
+     * @return Stringified quaternion
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "MutableQuaternion{" +
+                "w=" + w +
+                ", x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
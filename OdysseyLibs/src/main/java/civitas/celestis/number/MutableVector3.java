@@ -0,0 +1,361 @@
+package civitas.celestis.number;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * <h2>MutableVector3</h2>
+ * <p>
+ * A mutable three-dimensional vector, intended for inner loops which must not allocate.
+ * Every operation modifies {@code this} in place and returns it, so calls can be chained.
+ * </p>
+ * <p>
+ * Unlike {@link Vector3}, values are not validated on every operation.
+ * Non-finite values are detected when converting to an immutable vector using {@link #toVector()}.
+ * </p>
+ */
+@NotThreadSafe
+public class MutableVector3 {
+    //
+    // Constructors
+    //
+
+    /**
+     * Creates a new zero vector.
+     */
+    public MutableVector3() {
+        this(0, 0, 0);
+    }
+
+    /**
+     * Creates a new vector.
+     *
+     * @param x X value of this vector
+     * @param y Y value of this vector
+     * @param z Z value of this vector
+     */
+    public MutableVector3(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Creates a new vector from an immutable vector.
+     *
+     * @param v Vector to copy
+     */
+    public MutableVector3(@Nonnull Vector3 v) {
+        this(v.x(), v.y(), v.z());
+    }
+
+    //
+    // Variables
+    //
+
+    private double x;
+    private double y;
+    private double z;
+
+    //
+    // Getters
+    //
+
+    /**
+     * Gets the X value of this vector.
+     *
+     * @return X value
+     */
+    public double x() {
+        return x;
+    }
+
+    /**
+     * Gets the Y value of this vector.
+     *
+     * @return Y value
+     */
+    public double y() {
+        return y;
+    }
+
+    /**
+     * Gets the Z value of this vector.
+     *
+     * @return Z value
+     */
+    public double z() {
+        return z;
+    }
+
+    /**
+     * Gets the magnitude of this vector.
+     * This operation includes {@link Math#sqrt(double)}.
+     *
+     * @return Magnitude
+     */
+    @Nonnegative
+    public double magnitude() {
+        return Math.sqrt(magnitude2());
+    }
+
+    /**
+     * Gets the squared magnitude of this vector.
+     *
+     * @return Squared magnitude
+     */
+    @Nonnegative
+    public double magnitude2() {
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Gets the dot product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return Dot product of two vectors
+     */
+    public double dot(@Nonnull MutableVector3 v) {
+        return x * v.x + y * v.y + z * v.z;
+    }
+
+    /**
+     * Gets the squared distance from {@code this} to {@code v}.
+     *
+     * @param v Vector to get distance to
+     * @return Squared distance between two vectors
+     */
+    @Nonnegative
+    public double distance2(@Nonnull MutableVector3 v) {
+        final double dx = x - v.x, dy = y - v.y, dz = z - v.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    //
+    // Setters
+    //
+
+    /**
+     * Sets the values of this vector.
+     *
+     * @param x X value
+     * @param y Y value
+     * @param z Z value
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Copies the values of another vector into this vector.
+     *
+     * @param v Vector to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(@Nonnull MutableVector3 v) {
+        return set(v.x, v.y, v.z);
+    }
+
+    /**
+     * Copies the values of an immutable vector into this vector.
+     *
+     * @param v Vector to copy
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 set(@Nonnull Vector3 v) {
+        return set(v.x(), v.y(), v.z());
+    }
+
+    //
+    // In-place Arithmetic
+    //
+
+    /**
+     * Adds another vector to this vector.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 add(@Nonnull MutableVector3 v) {
+        return set(x + v.x, y + v.y, z + v.z);
+    }
+
+    /**
+     * Adds an immutable vector to this vector.
+     *
+     * @param v Vector to add
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 add(@Nonnull Vector3 v) {
+        return set(x + v.x(), y + v.y(), z + v.z());
+    }
+
+    /**
+     * Adds a scaled vector to this vector. ({@code this += v * s})
+     *
+     * @param v Vector to add
+     * @param s Scalar to multiply the vector with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 addScaled(@Nonnull MutableVector3 v, double s) {
+        return set(x + v.x * s, y + v.y * s, z + v.z * s);
+    }
+
+    /**
+     * Subtracts another vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 subtract(@Nonnull MutableVector3 v) {
+        return set(x - v.x, y - v.y, z - v.z);
+    }
+
+    /**
+     * Subtracts an immutable vector from this vector.
+     *
+     * @param v Vector to subtract
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 subtract(@Nonnull Vector3 v) {
+        return set(x - v.x(), y - v.y(), z - v.z());
+    }
+
+    /**
+     * Multiplies this vector by a scalar.
+     *
+     * @param s Scalar to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 multiply(double s) {
+        return set(x * s, y * s, z * s);
+    }
+
+    /**
+     * Divides this vector by a scalar.
+     *
+     * @param s Scalar to divide by
+     * @return {@code this}
+     * @throws ArithmeticException When the denominator is zero
+     */
+    @Nonnull
+    public MutableVector3 divide(double s) throws ArithmeticException {
+        if (s == 0) throw new ArithmeticException("Cannot divide by zero.");
+        return set(x / s, y / s, z / s);
+    }
+
+    /**
+     * Sets this vector to the cross product of {@code this} and {@code v}.
+     *
+     * @param v Vector to multiply with
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 cross(@Nonnull MutableVector3 v) {
+        return set(
+                y * v.z - z * v.y,
+                z * v.x - x * v.z,
+                x * v.y - y * v.x
+        );
+    }
+
+    /**
+     * Negates this vector.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 negate() {
+        return set(-x, -y, -z);
+    }
+
+    /**
+     * Normalizes this vector to a unit vector.
+     *
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 normalize() {
+        return multiply(Numbers.isqrt(magnitude2()));
+    }
+
+    /**
+     * Rotates this vector. This is equivalent to {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param rq Rotation quaternion to rotate by
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 rotate(@Nonnull MutableQuaternion rq) {
+        rq.rotate(this);
+        return this;
+    }
+
+    //
+    // Conversion
+    //
+
+    /**
+     * Converts this vector to an immutable vector.
+     *
+     * @return Immutable vector
+     * @throws IllegalArgumentException When this vector contains a non-finite value
+     */
+    @Nonnull
+    public Vector3 toVector() throws IllegalArgumentException {
+        return new Vector3(x, y, z);
+    }
+
+    /**
+     * Writes this vector into an array.
+     *
+     * @param dest   Array to write to
+     * @param offset Index of the X value
+     */
+    public void write(@Nonnull double[] dest, int offset) {
+        dest[offset] = x;
+        dest[offset + 1] = y;
+        dest[offset + 2] = z;
+    }
+
+    /**
+     * Reads this vector from an array.
+     *
+     * @param src    Array to read from
+     * @param offset Index of the X value
+     * @return {@code this}
+     */
+    @Nonnull
+    public MutableVector3 read(@Nonnull double[] src, int offset) {
+        return set(src[offset], src[offset + 1], src[offset + 2]);
+    }
+
+    /**
+     * Serializes this vector to a string.
+     *
+     * @return Stringified vector
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "MutableVector3{" +
+                "x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
@@ -59,6 +59,11 @@ public class Quaternion implements Serializable {
     private final double y;
     private final double z;
 
+    /**
+     * Lazily derived rotation matrix of this quaternion.
+     */
+    private transient volatile RotationMatrix matrix = null;
+
     //
     // Getters
     //
@@ -129,6 +134,19 @@ public class Quaternion implements Serializable {
         return Math.pow(w, 2) + Math.pow(x, 2) + Math.pow(y, 2) + Math.pow(z, 2);
     }
 
+    /**
+     * Gets the rotation matrix of this quaternion.
+     * The matrix is derived once, and cached for the lifetime of this quaternion.
+     *
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public RotationMatrix matrix() {
+        RotationMatrix m = matrix;
+        if (m == null) matrix = m = RotationMatrix.of(this);
+        return m;
+    }
+
     //
     // Quaternion-Scalar Arithmetic
     //
@@ -214,11 +232,70 @@ public class Quaternion implements Serializable {
     @Nonnull
     public Quaternion multiply(@Nonnull Quaternion q) {
         return new Quaternion(
-                (w * q.w) - vector().dot(q.vector()),
-                q.vector().multiply(w).add(vector().multiply(q.w)).add(q.vector().cross(vector()))
+                w * q.w - (x * q.x + y * q.y + z * q.z),
+                q.x * w + x * q.w + (q.y * z - q.z * y),
+                q.y * w + y * q.w + (q.z * x - q.x * z),
+                q.z * w + z * q.w + (q.x * y - q.y * x)
         );
     }
 
+    //
+    // Primitive Kernels
+    //
+
+    /**
+     * Multiplies two quaternions given as primitives, and writes the result into an array.
+     * This follows the same convention as {@link #multiply(Quaternion)}, and allocates no objects.
+     *
+     * @param aw     W value of the first quaternion
+     * @param ax     X value of the first quaternion
+     * @param ay     Y value of the first quaternion
+     * @param az     Z value of the first quaternion
+     * @param bw     W value of the second quaternion
+     * @param bx     X value of the second quaternion
+     * @param by     Y value of the second quaternion
+     * @param bz     Z value of the second quaternion
+     * @param dest   Array to write the resulting WXYZ values to
+     * @param offset Index of the W value in the array
+     */
+    public static void multiply(
+            double aw, double ax, double ay, double az,
+            double bw, double bx, double by, double bz,
+            @Nonnull double[] dest, int offset
+    ) {
+        dest[offset] = aw * bw - (ax * bx + ay * by + az * bz);
+        dest[offset + 1] = bx * aw + ax * bw + (by * az - bz * ay);
+        dest[offset + 2] = by * aw + ay * bw + (bz * ax - bx * az);
+        dest[offset + 3] = bz * aw + az * bw + (bx * ay - by * ax);
+    }
+
+    /**
+     * Rotates a vector given as primitives, and writes the result into an array.
+     * This is equivalent to {@link Vector3#rotate(Quaternion)}, and allocates no objects.
+     *
+     * @param w      W value of the rotation quaternion
+     * @param x      X value of the rotation quaternion
+     * @param y      Y value of the rotation quaternion
+     * @param z      Z value of the rotation quaternion
+     * @param vx     X value of the vector
+     * @param vy     Y value of the vector
+     * @param vz     Z value of the vector
+     * @param dest   Array to write the resulting XYZ values to
+     * @param offset Index of the X value in the array
+     */
+    public static void rotate(
+            double w, double x, double y, double z,
+            double vx, double vy, double vz,
+            @Nonnull double[] dest, int offset
+    ) {
+        final double ww = w * w, xx = x * x, yy = y * y, zz = z * z;
+        final double xy = x * y, xz = x * z, yz = y * z, wx = w * x, wy = w * y, wz = w * z;
+
+        dest[offset] = (ww + xx - yy - zz) * vx + 2 * (xy + wz) * vy + 2 * (xz - wy) * vz;
+        dest[offset + 1] = 2 * (xy - wz) * vx + (ww - xx + yy - zz) * vy + 2 * (yz + wx) * vz;
+        dest[offset + 2] = 2 * (xz + wy) * vx + 2 * (yz - wx) * vy + (ww - xx - yy + zz) * vz;
+    }
+
     /**
      * Scales the rotation this quaternion represents.
      *
@@ -0,0 +1,193 @@
+package civitas.celestis.number;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * <h2>RotationMatrix</h2>
+ * <p>
+ * A 3x3 matrix which applies the rotation of a {@link Quaternion}.
+ * Rotating by the matrix gives the same result as {@link Vector3#rotate(Quaternion)}
+ * using nine multiplications instead of two quaternion products.
+ * </p>
+ * <p>
+ * The matrix of a quaternion is cached by the quaternion itself; see {@link Quaternion#matrix()}.
+ * </p>
+ */
+@Immutable
+public final class RotationMatrix {
+    /**
+     * The identity matrix. Represents no rotation.
+     */
+    public static final RotationMatrix IDENTITY = new RotationMatrix(1, 0, 0, 0);
+
+    /**
+     * Creates the rotation matrix of a quaternion.
+     *
+     * @param rq Rotation quaternion
+     * @return Rotation matrix
+     */
+    @Nonnull
+    public static RotationMatrix of(@Nonnull Quaternion rq) {
+        return new RotationMatrix(rq.w(), rq.x(), rq.y(), rq.z());
+    }
+
+    /**
+     * Creates the rotation matrix of a quaternion given as primitives.
+     * Non-unit quaternions also scale by their squared magnitude, exactly like {@link Vector3#rotate(Quaternion)}.
+     *
+     * @param w W value of the quaternion
+     * @param x X value of the quaternion
+     * @param y Y value of the quaternion
+     * @param z Z value of the quaternion
+     */
+    public RotationMatrix(double w, double x, double y, double z) {
+        final double ww = w * w, xx = x * x, yy = y * y, zz = z * z;
+        final double xy = x * y, xz = x * z, yz = y * z, wx = w * x, wy = w * y, wz = w * z;
+
+        this.m00 = ww + xx - yy - zz;
+        this.m01 = 2 * (xy + wz);
+        this.m02 = 2 * (xz - wy);
+        this.m10 = 2 * (xy - wz);
+        this.m11 = ww - xx + yy - zz;
+        this.m12 = 2 * (yz + wx);
+        this.m20 = 2 * (xz + wy);
+        this.m21 = 2 * (yz - wx);
+        this.m22 = ww - xx - yy + zz;
+    }
+
+    private final double m00, m01, m02;
+    private final double m10, m11, m12;
+    private final double m20, m21, m22;
+
+    /**
+     * Gets an element of this matrix.
+     *
+     * @param row    Index of row
+     * @param column Index of column
+     * @return Element
+     * @throws IndexOutOfBoundsException When the row or column is not between {@code 0} and {@code 2}
+     */
+    public double get(int row, int column) throws IndexOutOfBoundsException {
+        return switch (row * 3 + column) {
+            case 0 -> m00;
+            case 1 -> m01;
+            case 2 -> m02;
+            case 3 -> m10;
+            case 4 -> m11;
+            case 5 -> m12;
+            case 6 -> m20;
+            case 7 -> m21;
+            case 8 -> m22;
+            default -> throw new IndexOutOfBoundsException("Row and column must be between 0 and 2.");
+        };
+    }
+
+    //
+    // Rotation
+    //
+
+    /**
+     * Rotates a vector.
+     *
+     * @param v Vector to rotate
+     * @return Rotated vector
+     */
+    @Nonnull
+    public Vector3 rotate(@Nonnull Vector3 v) {
+        final double x = v.x(), y = v.y(), z = v.z();
+
+        return new Vector3(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z
+        );
+    }
+
+    /**
+     * Rotates a mutable vector in place.
+     *
+     * @param v Vector to rotate
+     * @return The rotated vector
+     */
+    @Nonnull
+    public MutableVector3 rotate(@Nonnull MutableVector3 v) {
+        final double x = v.x(), y = v.y(), z = v.z();
+
+        return v.set(
+                m00 * x + m01 * y + m02 * z,
+                m10 * x + m11 * y + m12 * z,
+                m20 * x + m21 * y + m22 * z
+        );
+    }
+
+    /**
+     * Rotates a range of points stored as XYZ triplets.
+     * The source and destination may be the same array to rotate in place.
+     *
+     * @param src        Array to read points from
+     * @param srcOffset  Index of the first X value to read
+     * @param dest       Array to write rotated points to
+     * @param destOffset Index of the first X value to write
+     * @param count      Number of points
+     */
+    public void rotate(@Nonnull double[] src, int srcOffset, @Nonnull double[] dest, int destOffset, @Nonnegative int count) {
+        transform(src, srcOffset, dest, destOffset, count, 0, 0, 0, 1);
+    }
+
+    /**
+     * Transforms a range of points stored as XYZ triplets to a relative coordinate system.
+     * Each point is translated by the negative origin, rotated, then scaled.
+     * The source and destination may be the same array to transform in place.
+     *
+     * @param src        Array to read points from
+     * @param srcOffset  Index of the first X value to read
+     * @param dest       Array to write transformed points to
+     * @param destOffset Index of the first X value to write
+     * @param count      Number of points
+     * @param ox         X value of the new origin
+     * @param oy         Y value of the new origin
+     * @param oz         Z value of the new origin
+     * @param scale      Scale to apply after rotating
+     */
+    public void transform(
+            @Nonnull double[] src, int srcOffset,
+            @Nonnull double[] dest, int destOffset,
+            @Nonnegative int count,
+            double ox, double oy, double oz,
+            double scale
+    ) {
+        final double a00 = m00 * scale, a01 = m01 * scale, a02 = m02 * scale;
+        final double a10 = m10 * scale, a11 = m11 * scale, a12 = m12 * scale;
+        final double a20 = m20 * scale, a21 = m21 * scale, a22 = m22 * scale;
+
+        for (int i = 0; i < count; i++) {
+            final int s = srcOffset + i * 3;
+            final int d = destOffset + i * 3;
+
+            final double x = src[s] - ox;
+            final double y = src[s + 1] - oy;
+            final double z = src[s + 2] - oz;
+
+            dest[d] = a00 * x + a01 * y + a02 * z;
+            dest[d + 1] = a10 * x + a11 * y + a12 * z;
+            dest[d + 2] = a20 * x + a21 * y + a22 * z;
+        }
+    }
+
+    /**
+     * Serializes this matrix into a string.
+     *
+     * @return Stringified matrix
+     */
+    @Override
+    @Nonnull
+    public String toString() {
+        return "RotationMatrix{" +
+                "[" + m00 + ", " + m01 + ", " + m02 + "], " +
+                "[" + m10 + ", " + m11 + ", " + m12 + "], " +
+                "[" + m20 + ", " + m21 + ", " + m22 + "]" +
+                '}';
+    }
+}
@@ -230,6 +230,33 @@ public class Vector3 implements Serializable {
         );
     }
 
+    //
+    // Primitive Kernels
+    //
+
+    /**
+     * Gets the cross product of two vectors given as primitives, and writes the result into an array.
+     * This is equivalent to {@link #cross(Vector3)}, and allocates no objects.
+     *
+     * @param ax     X value of the first vector
+     * @param ay     Y value of the first vector
+     * @param az     Z value of the first vector
+     * @param bx     X value of the second vector
+     * @param by     Y value of the second vector
+     * @param bz     Z value of the second vector
+     * @param dest   Array to write the resulting XYZ values to
+     * @param offset Index of the X value in the array
+     */
+    public static void cross(
+            double ax, double ay, double az,
+            double bx, double by, double bz,
+            @Nonnull double[] dest, int offset
+    ) {
+        dest[offset] = ay * bz - az * by;
+        dest[offset + 1] = az * bx - ax * bz;
+        dest[offset + 2] = ax * by - ay * bx;
+    }
+
     //
     // Util
     //
@@ -288,13 +315,14 @@ public class Vector3 implements Serializable {
 
     /**
      * Rotates this vector.
+     * This uses the cached rotation matrix of the quaternion, and is equivalent to {@code rq * v * rq'}.
      *
      * @param rq Rotation quaternion to rotate by
      * @return Rotated vector
      */
     @Nonnull
     public Vector3 rotate(@Nonnull Quaternion rq) {
-        return rq.multiply(quaternion()).multiply(rq.conjugate()).vector();
+        return rq.matrix().rotate(this);
     }
 
     //
@@ -66,12 +66,21 @@ public abstract class AbstractObject implements BaseObject {
     private Quaternion rotation;
     @Nonnull
     private Quaternion rotationRate;
+    private long version = 0;
 
+    /**
+     * Calls {@link #tick(double)}. This cannot be overridden, since the engine never calls it;
+     * override {@link #tick(double)} instead.
+     *
+     * @param delta Duration between the last tick and now
+     */
     @Override
-    public void tick(@Nonnull Duration delta) {
-        // Convert delta to seconds
-        final double seconds = delta.getMillis() / 1000d;
+    public final void tick(@Nonnull Duration delta) {
+        tick(delta.getMillis() / 1000d);
+    }
 
+    @Override
+    public void tick(double seconds) {
         // Apply acceleration
         move(acceleration.multiply(seconds));
 
@@ -79,6 +88,24 @@ public abstract class AbstractObject implements BaseObject {
         rotate(rotationRate.scale(seconds));
     }
 
+    /**
+     * Gets the transform version of this object.
+     * The version is incremented every time the location or rotation of this object changes,
+     * and can be used to invalidate values derived from the transform of this object.
+     *
+     * @return Transform version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Marks the transform of this object as modified, invalidating values derived from it.
+     */
+    protected void modified() {
+        version++;
+    }
+
     @Override
     @Nonnull
     public UUID getUniqueId() {
@@ -112,6 +139,7 @@ public abstract class AbstractObject implements BaseObject {
     @Override
     public void setLocation(@Nonnull Vector3 location) {
         this.location = location;
+        modified();
     }
 
     @Override
@@ -122,6 +150,7 @@ public abstract class AbstractObject implements BaseObject {
     @Override
     public void setRotation(@Nonnull Quaternion rotation) {
         this.rotation = rotation;
+        modified();
     }
 
     @Override
@@ -131,7 +160,10 @@ public abstract class AbstractObject implements BaseObject {
 
     @Override
     public void move(@Nonnull Vector3 amount) {
+        if (amount.equals(Vector3.ZERO)) return; // Keep derived values of resting objects
+
         this.location = location.add(amount);
+        modified();
     }
 
     @Override
@@ -141,7 +173,10 @@ public abstract class AbstractObject implements BaseObject {
 
     @Override
     public void rotate(@Nonnull Quaternion amount) {
+        if (amount.equals(Quaternion.IDENTITY)) return; // Keep derived values of non-rotating objects
+
         this.rotation = amount.multiply(rotation);
+        modified();
     }
 
     @Override
@@ -21,11 +21,21 @@ public interface BaseObject {
     UUID getUniqueId();
 
     /**
-     * Called every tick.
+     * Called every tick. This is the only tick method which is called by the engine.
+     *
+     * @param seconds Duration between the last tick and now in seconds
+     */
+    void tick(double seconds);
+
+    /**
+     * Ticks this object by a duration of whole milliseconds.
+     * This is a convenience which calls {@link #tick(double)}, and is never called by the engine.
      *
      * @param delta Duration between the last tick and now
      */
-    void tick(@Nonnull Duration delta);
+    default void tick(@Nonnull Duration delta) {
+        tick(delta.getMillis() / 1000d);
+    }
 
     /**
      * Gets the location of this object.
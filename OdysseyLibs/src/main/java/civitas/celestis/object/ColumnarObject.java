@@ -0,0 +1,316 @@
+package civitas.celestis.object;
+
+import civitas.celestis.geometry.profile.Geometry;
+import civitas.celestis.geometry.solid.Solid;
+import civitas.celestis.number.Quaternion;
+import civitas.celestis.number.Vector3;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.UUID;
+
+/**
+ * <h2>ColumnarObject</h2>
+ * <p>
+ * A tangible object whose physical state is stored in {@link ObjectColumns}.
+ * The object itself is a thin handle which points to a slot of its storage.
+ * </p>
+ * <p>
+ * A new object owns a private storage of its own.
+ * When added to a {@link civitas.celestis.world.ColumnarWorld}, its state is moved into the columns of the world,
+ * which allows the world to integrate every object in a single allocation-free loop.
+ * </p>
+ */
+public final class ColumnarObject implements TangibleObject {
+    /**
+     * Creates a new object.
+     *
+     * @param uniqueId Unique identifier of this object
+     * @param location Location of this object
+     * @param geometry Geometric profile of this object
+     * @param mass     Mass of this object
+     */
+    public ColumnarObject(
+            @Nonnull UUID uniqueId,
+            @Nonnull Vector3 location,
+            @Nonnull Geometry geometry,
+            @Nonnegative double mass
+    ) {
+        this(uniqueId, location, Quaternion.IDENTITY, geometry, mass);
+    }
+
+    /**
+     * Creates a new object.
+     *
+     * @param uniqueId Unique identifier of this object
+     * @param location Location of this object
+     * @param rotation Rotation of this object
+     * @param geometry Geometric profile of this object
+     * @param mass     Mass of this object
+     */
+    public ColumnarObject(
+            @Nonnull UUID uniqueId,
+            @Nonnull Vector3 location,
+            @Nonnull Quaternion rotation,
+            @Nonnull Geometry geometry,
+            @Nonnegative double mass
+    ) {
+        this(uniqueId, location, Vector3.ZERO, rotation, Quaternion.IDENTITY, geometry, mass);
+    }
+
+    /**
+     * Creates a new object.
+     *
+     * @param uniqueId     Unique identifier of this object
+     * @param location     Location of this object
+     * @param acceleration Acceleration of this object
+     * @param rotation     Rotation of this object
+     * @param rotationRate Rate of rotation of this object
+     * @param geometry     Geometric profile of this object
+     * @param mass         Mass of this object
+     */
+    public ColumnarObject(
+            @Nonnull UUID uniqueId,
+            @Nonnull Vector3 location,
+            @Nonnull Vector3 acceleration,
+            @Nonnull Quaternion rotation,
+            @Nonnull Quaternion rotationRate,
+            @Nonnull Geometry geometry,
+            @Nonnegative double mass
+    ) {
+        this.uniqueId = uniqueId;
+        this.geometry = geometry;
+        this.columns = new ObjectColumns(1);
+        this.slot = columns.allocate(this);
+
+        setLocation(location);
+        setAcceleration(acceleration);
+        setRotation(rotation);
+        setRotationRate(rotationRate);
+        setMass(mass);
+        updateDragArea();
+    }
+
+    @Nonnull
+    private final UUID uniqueId;
+    @Nonnull
+    private Geometry geometry;
+    @Nonnull
+    private ObjectColumns columns;
+    private int slot;
+
+    //
+    // Storage
+    //
+
+    /**
+     * Gets the storage this object's state is stored in.
+     *
+     * @return Storage
+     */
+    @Nonnull
+    ObjectColumns columns() {
+        return columns;
+    }
+
+    /**
+     * Gets the slot this object occupies in its storage.
+     *
+     * @return Slot index
+     */
+    int slot() {
+        return slot;
+    }
+
+    /**
+     * Points this handle to a new slot. Called by {@link ObjectColumns} when the state is moved.
+     *
+     * @param columns Storage
+     * @param slot    Slot index
+     */
+    void relocate(@Nonnull ObjectColumns columns, int slot) {
+        this.columns = columns;
+        this.slot = slot;
+    }
+
+    /**
+     * Recomputes the cached drag area of this object.
+     * The drag area is evaluated once per geometry, so direction-dependent drag is approximated.
+     */
+    private void updateDragArea() {
+        final Solid solid = getSolid();
+        columns.dragAreas()[slot] = solid.dragCoefficient(Vector3.POSITIVE_Z) * solid.crossSection(Vector3.POSITIVE_Z);
+    }
+
+    //
+    // BaseObject
+    //
+
+    @Override
+    @Nonnull
+    public UUID getUniqueId() {
+        return uniqueId;
+    }
+
+    @Override
+    public void tick(double seconds) {
+        columns.integrate(slot, slot + 1, seconds);
+    }
+
+    @Override
+    @Nonnull
+    public Vector3 getLocation() {
+        final double[] p = columns.positions();
+        return new Vector3(p[slot * 3], p[slot * 3 + 1], p[slot * 3 + 2]);
+    }
+
+    @Override
+    @Nonnull
+    public Vector3 getAcceleration() {
+        final double[] v = columns.velocities();
+        return new Vector3(v[slot * 3], v[slot * 3 + 1], v[slot * 3 + 2]);
+    }
+
+    @Override
+    @Nonnull
+    public Quaternion getRotation() {
+        final double[] q = columns.rotations();
+        return new Quaternion(q[slot * 4], q[slot * 4 + 1], q[slot * 4 + 2], q[slot * 4 + 3]);
+    }
+
+    @Override
+    @Nonnull
+    public Quaternion getRotationRate() {
+        final double[] q = columns.rotationRates();
+        return new Quaternion(q[slot * 4], q[slot * 4 + 1], q[slot * 4 + 2], q[slot * 4 + 3]);
+    }
+
+    @Override
+    public void setLocation(@Nonnull Vector3 location) {
+        final double[] p = columns.positions();
+        p[slot * 3] = location.x();
+        p[slot * 3 + 1] = location.y();
+        p[slot * 3 + 2] = location.z();
+    }
+
+    @Override
+    public void setAcceleration(@Nonnull Vector3 acceleration) {
+        final double[] v = columns.velocities();
+        v[slot * 3] = acceleration.x();
+        v[slot * 3 + 1] = acceleration.y();
+        v[slot * 3 + 2] = acceleration.z();
+    }
+
+    @Override
+    public void setRotation(@Nonnull Quaternion rotation) {
+        final double[] q = columns.rotations();
+        q[slot * 4] = rotation.w();
+        q[slot * 4 + 1] = rotation.x();
+        q[slot * 4 + 2] = rotation.y();
+        q[slot * 4 + 3] = rotation.z();
+    }
+
+    @Override
+    public void setRotationRate(@Nonnull Quaternion rotationRate) {
+        final double[] q = columns.rotationRates();
+        q[slot * 4] = rotationRate.w();
+        q[slot * 4 + 1] = rotationRate.x();
+        q[slot * 4 + 2] = rotationRate.y();
+        q[slot * 4 + 3] = rotationRate.z();
+    }
+
+    @Override
+    public void move(@Nonnull Vector3 amount) {
+        final double[] p = columns.positions();
+        p[slot * 3] += amount.x();
+        p[slot * 3 + 1] += amount.y();
+        p[slot * 3 + 2] += amount.z();
+    }
+
+    @Override
+    public void accelerate(@Nonnull Vector3 amount) {
+        final double[] v = columns.velocities();
+        v[slot * 3] += amount.x();
+        v[slot * 3 + 1] += amount.y();
+        v[slot * 3 + 2] += amount.z();
+    }
+
+    @Override
+    public void rotate(@Nonnull Quaternion amount) {
+        columns.rotate(slot, amount.w(), amount.x(), amount.y(), amount.z());
+    }
+
+    @Override
+    public void rotateRate(@Nonnull Quaternion amount) {
+        columns.rotateRate(slot, amount.w(), amount.x(), amount.y(), amount.z());
+    }
+
+    //
+    // TangibleObject
+    //
+
+    @Override
+    @Nonnull
+    public Geometry getGeometry() {
+        return geometry;
+    }
+
+    @Nonnull
+    @Override
+    public Solid getSolid() {
+        return geometry.build(this);
+    }
+
+    @Override
+    @Nonnegative
+    public double getMass() {
+        return columns.masses()[slot];
+    }
+
+    @Override
+    @Nonnegative
+    public double getVolume() {
+        return geometry.volume();
+    }
+
+    @Override
+    @Nonnegative
+    public double getDensity() {
+        final double mass = getMass();
+        if (mass == 0) return 0;
+        return getVolume() / mass;
+    }
+
+    @Override
+    @Nonnegative
+    public double getDragCoefficient() {
+        return getSolid().dragCoefficient(getAcceleration().negate());
+    }
+
+    @Override
+    @Nonnegative
+    public double getCrossSection() {
+        return getSolid().crossSection(getAcceleration().negate());
+    }
+
+    @Override
+    public boolean overlaps(@Nonnull Solid solid) {
+        return getSolid().overlaps(solid);
+    }
+
+    @Override
+    public boolean overlaps(@Nonnull TangibleObject other) {
+        return getSolid().overlaps(other.getSolid());
+    }
+
+    @Override
+    public void setGeometry(@Nonnull Geometry geometry) {
+        this.geometry = geometry;
+        updateDragArea();
+    }
+
+    @Override
+    public void setMass(@Nonnegative double mass) {
+        columns.masses()[slot] = mass;
+    }
+}
@@ -0,0 +1,331 @@
+package civitas.celestis.object;
+
+import civitas.celestis.number.Quaternion;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.Arrays;
+
+/**
+ * <h2>ObjectColumns</h2>
+ * <p>
+ * A structure-of-arrays storage for the physical state of {@link ColumnarObject}s.
+ * Each object occupies a slot, and each property is stored in a primitive column.
+ * </p>
+ * <p>
+ * Vector properties are interleaved within their column.
+ * The position of the object in slot {@code i} is stored at {@code positions[3i]} to {@code positions[3i + 2]},
+ * and its rotation (W, X, Y, Z) is stored at {@code rotations[4i]} to {@code rotations[4i + 3]}.
+ * </p>
+ * <p>
+ * Slots are kept dense. Removing an object moves the object in the last slot into the vacated slot.
+ * Columns may be reallocated when the storage grows, so references to them must not be retained.
+ * </p>
+ */
+public final class ObjectColumns {
+    /**
+     * Creates a new storage.
+     *
+     * @param capacity Initial capacity
+     */
+    public ObjectColumns(@Nonnegative int capacity) {
+        this.handles = new ColumnarObject[capacity];
+        this.positions = new double[capacity * 3];
+        this.velocities = new double[capacity * 3];
+        this.rotations = new double[capacity * 4];
+        this.rotationRates = new double[capacity * 4];
+        this.masses = new double[capacity];
+        this.dragAreas = new double[capacity];
+    }
+
+    private ColumnarObject[] handles;
+    private double[] positions;
+    private double[] velocities;
+    private double[] rotations;
+    private double[] rotationRates;
+    private double[] masses;
+    private double[] dragAreas;
+    private int size = 0;
+
+    //
+    // Columns
+    //
+
+    /**
+     * Gets the number of occupied slots.
+     *
+     * @return Number of objects
+     */
+    @Nonnegative
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the object stored in given slot.
+     *
+     * @param slot Slot index
+     * @return Object of slot
+     * @throws IndexOutOfBoundsException When the slot is not occupied
+     */
+    @Nonnull
+    public ColumnarObject handle(int slot) throws IndexOutOfBoundsException {
+        return handles[checkSlot(slot)];
+    }
+
+    /**
+     * Gets the position column. (3 values per slot)
+     *
+     * @return Positions
+     */
+    @Nonnull
+    public double[] positions() {
+        return positions;
+    }
+
+    /**
+     * Gets the velocity column. (3 values per slot)
+     *
+     * @return Velocities
+     */
+    @Nonnull
+    public double[] velocities() {
+        return velocities;
+    }
+
+    /**
+     * Gets the rotation column. (4 values per slot)
+     *
+     * @return Rotations
+     */
+    @Nonnull
+    public double[] rotations() {
+        return rotations;
+    }
+
+    /**
+     * Gets the rate of rotation column. (4 values per slot)
+     *
+     * @return Rates of rotation
+     */
+    @Nonnull
+    public double[] rotationRates() {
+        return rotationRates;
+    }
+
+    /**
+     * Gets the mass column. (1 value per slot)
+     *
+     * @return Masses
+     */
+    @Nonnull
+    public double[] masses() {
+        return masses;
+    }
+
+    /**
+     * Gets the drag area column. (1 value per slot)
+     * The drag area of an object is its coefficient of drag multiplied by its cross-section.
+     *
+     * @return Drag areas
+     */
+    @Nonnull
+    public double[] dragAreas() {
+        return dragAreas;
+    }
+
+    //
+    // Membership
+    //
+
+    /**
+     * Checks if given object is stored in this storage.
+     *
+     * @param handle Object to check
+     * @return {@code true} if the object's state is stored in {@code this}
+     */
+    public boolean contains(@Nonnull ColumnarObject handle) {
+        return handle.columns() == this;
+    }
+
+    /**
+     * Gets the slot given object occupies in this storage.
+     *
+     * @param handle Object to get the slot of
+     * @return Slot index
+     * @throws IllegalArgumentException When the object is not stored in {@code this}
+     */
+    public int slotOf(@Nonnull ColumnarObject handle) throws IllegalArgumentException {
+        if (!contains(handle)) throw new IllegalArgumentException("Object is not stored in this storage.");
+        return handle.slot();
+    }
+
+    /**
+     * Moves the state of given object into this storage.
+     * The object is removed from its previous storage.
+     * Adopting an object which is already stored in {@code this} has no effect.
+     *
+     * @param handle Object to adopt
+     */
+    public void adopt(@Nonnull ColumnarObject handle) {
+        if (contains(handle)) return;
+
+        final ObjectColumns source = handle.columns();
+        final int from = handle.slot();
+        final int to = allocate(handle);
+
+        System.arraycopy(source.positions, from * 3, positions, to * 3, 3);
+        System.arraycopy(source.velocities, from * 3, velocities, to * 3, 3);
+        System.arraycopy(source.rotations, from * 4, rotations, to * 4, 4);
+        System.arraycopy(source.rotationRates, from * 4, rotationRates, to * 4, 4);
+        masses[to] = source.masses[from];
+        dragAreas[to] = source.dragAreas[from];
+
+        source.free(from);
+        handle.relocate(this, to);
+    }
+
+    /**
+     * Moves the state of given object out of this storage, into a private storage of its own.
+     * The object remains fully usable after being released.
+     *
+     * @param handle Object to release
+     * @throws IllegalArgumentException When the object is not stored in {@code this}
+     */
+    public void release(@Nonnull ColumnarObject handle) throws IllegalArgumentException {
+        if (!contains(handle)) throw new IllegalArgumentException("Object is not stored in this storage.");
+        new ObjectColumns(1).adopt(handle);
+    }
+
+    /**
+     * Allocates a slot for a new object. All values of the slot are set to zero.
+     *
+     * @param handle Object to allocate a slot for
+     * @return Allocated slot
+     */
+    int allocate(@Nonnull ColumnarObject handle) {
+        if (size == handles.length) grow();
+
+        final int slot = size++;
+        handles[slot] = handle;
+        return slot;
+    }
+
+    /**
+     * Frees a slot. The object in the last slot is moved into the freed slot.
+     *
+     * @param slot Slot to free
+     */
+    private void free(int slot) {
+        final int last = --size;
+
+        if (slot != last) {
+            System.arraycopy(positions, last * 3, positions, slot * 3, 3);
+            System.arraycopy(velocities, last * 3, velocities, slot * 3, 3);
+            System.arraycopy(rotations, last * 4, rotations, slot * 4, 4);
+            System.arraycopy(rotationRates, last * 4, rotationRates, slot * 4, 4);
+            masses[slot] = masses[last];
+            dragAreas[slot] = dragAreas[last];
+
+            handles[slot] = handles[last];
+            handles[slot].relocate(this, slot);
+        }
+
+        handles[last] = null;
+        Arrays.fill(positions, last * 3, last * 3 + 3, 0);
+        Arrays.fill(velocities, last * 3, last * 3 + 3, 0);
+        Arrays.fill(rotations, last * 4, last * 4 + 4, 0);
+        Arrays.fill(rotationRates, last * 4, last * 4 + 4, 0);
+        masses[last] = 0;
+        dragAreas[last] = 0;
+    }
+
+    /**
+     * Doubles the capacity of this storage.
+     */
+    private void grow() {
+        final int capacity = Math.max(4, handles.length * 2);
+
+        handles = Arrays.copyOf(handles, capacity);
+        positions = Arrays.copyOf(positions, capacity * 3);
+        velocities = Arrays.copyOf(velocities, capacity * 3);
+        rotations = Arrays.copyOf(rotations, capacity * 4);
+        rotationRates = Arrays.copyOf(rotationRates, capacity * 4);
+        masses = Arrays.copyOf(masses, capacity);
+        dragAreas = Arrays.copyOf(dragAreas, capacity);
+    }
+
+    private int checkSlot(int slot) throws IndexOutOfBoundsException {
+        if (slot < 0 || slot >= size) throw new IndexOutOfBoundsException("Slot " + slot + " is not occupied.");
+        return slot;
+    }
+
+    //
+    // Physics
+    //
+
+    /**
+     * Moves each object in given range of slots by its velocity,
+     * and rotates it by its rate of rotation.
+     * This is the columnar equivalent of {@link AbstractObject#tick(double)}.
+     *
+     * @param from    First slot (inclusive)
+     * @param to      Last slot (exclusive)
+     * @param seconds Duration of the tick in seconds
+     */
+    public void integrate(int from, int to, double seconds) {
+        for (int i = from; i < to; i++) {
+            final int v = i * 3;
+            positions[v] += velocities[v] * seconds;
+            positions[v + 1] += velocities[v + 1] * seconds;
+            positions[v + 2] += velocities[v + 2] * seconds;
+
+            final int q = i * 4;
+            final double w = rotationRates[q];
+            if (w == 1) continue; // Identity rate of rotation
+
+            // Scale the rate of rotation (see Quaternion#scale(double))
+            final double angle = Math.acos(w);
+            final double sin = Math.sin(angle);
+            if (sin == 0 || !Double.isFinite(angle)) continue;
+
+            final double k = Math.sin(angle * seconds) / sin;
+            rotate(i, Math.cos(angle * seconds), rotationRates[q + 1] * k, rotationRates[q + 2] * k, rotationRates[q + 3] * k);
+        }
+    }
+
+    /**
+     * Rotates the object in given slot by a rotation quaternion.
+     * This is the columnar equivalent of {@code amount.multiply(rotation)}.
+     *
+     * @param slot Slot of object
+     * @param w    W value of rotation to apply
+     * @param x    X value of rotation to apply
+     * @param y    Y value of rotation to apply
+     * @param z    Z value of rotation to apply
+     */
+    void rotate(int slot, double w, double x, double y, double z) {
+        final int q = slot * 4;
+        final double[] r = rotations;
+
+        // Arguments are read before the result is written, so this multiplies in place
+        Quaternion.multiply(w, x, y, z, r[q], r[q + 1], r[q + 2], r[q + 3], r, q);
+    }
+
+    /**
+     * Rotates the rate of rotation of the object in given slot by a rotation quaternion.
+     *
+     * @param slot Slot of object
+     * @param w    W value of rotation to apply
+     * @param x    X value of rotation to apply
+     * @param y    Y value of rotation to apply
+     * @param z    Z value of rotation to apply
+     */
+    void rotateRate(int slot, double w, double x, double y, double z) {
+        final int q = slot * 4;
+        final double[] r = rotationRates;
+
+        // Arguments are read before the result is written, so this multiplies in place
+        Quaternion.multiply(w, x, y, z, r[q], r[q + 1], r[q + 2], r[q + 3], r, q);
+    }
+}
@@ -1,5 +1,6 @@
 package civitas.celestis.object;
 
+import civitas.celestis.geometry.mesh.TriangleMesh;
 import civitas.celestis.geometry.profile.Geometry;
 import civitas.celestis.geometry.solid.Solid;
 import civitas.celestis.number.Quaternion;
@@ -7,6 +8,7 @@ import civitas.celestis.number.Vector3;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.UUID;
 
 /**
@@ -83,6 +85,8 @@ public class RealisticObject extends AbstractObject implements TangibleObject {
     private Geometry geometry;
     @Nonnegative
     private double mass;
+    @Nullable
+    private CachedSolid cache = null;
 
     @Override
     @Nonnull
@@ -90,10 +94,76 @@ public class RealisticObject extends AbstractObject implements TangibleObject {
         return geometry;
     }
 
+    /**
+     * {@inheritDoc}
+     * The solid is built once per transform version, and reused until this object moves,
+     * rotates, or has its geometry changed.
+     *
+     * @return Discrete solid
+     */
     @Nonnull
     @Override
     public Solid getSolid() {
-        return geometry.build(this);
+        return cached().solid;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The mesh is built once per transform version, and reused until this object moves,
+     * rotates, or has its geometry changed.
+     *
+     * @return Triangle mesh
+     */
+    @Nonnull
+    @Override
+    public TriangleMesh getMesh() {
+        final CachedSolid c = cached();
+
+        TriangleMesh m = c.mesh;
+        if (m == null) c.mesh = m = c.solid.mesh();
+
+        return m;
+    }
+
+    /**
+     * {@inheritDoc}
+     * The most recently requested level is cached until this object moves,
+     * rotates, or has its geometry changed.
+     *
+     * @param level Level of detail
+     * @return Triangle mesh
+     */
+    @Nonnull
+    @Override
+    public TriangleMesh getMesh(int level) {
+        final CachedSolid c = cached();
+
+        TriangleMesh m = c.detailed;
+        if (m == null || c.level != level) {
+            m = c.solid.mesh(level);
+            c.detailed = m;
+            c.level = level;
+        }
+
+        return m;
+    }
+
+    /**
+     * Gets the cached solid of this object, rebuilding it if the transform has changed.
+     *
+     * @return Cached solid
+     */
+    @Nonnull
+    private CachedSolid cached() {
+        final long version = getVersion();
+
+        CachedSolid c = cache;
+        if (c == null || c.version != version) {
+            c = new CachedSolid(version, geometry.build(this));
+            cache = c;
+        }
+
+        return c;
     }
 
     @Override
@@ -140,10 +210,30 @@ public class RealisticObject extends AbstractObject implements TangibleObject {
     @Override
     public void setGeometry(@Nonnull Geometry geometry) {
         this.geometry = geometry;
+        modified();
     }
 
     @Override
     public void setMass(@Nonnegative double mass) {
         this.mass = mass;
     }
+
+    /**
+     * A solid built at a specific transform version, and its lazily built meshes.
+     */
+    private static final class CachedSolid {
+        private CachedSolid(long version, @Nonnull Solid solid) {
+            this.version = version;
+            this.solid = solid;
+        }
+
+        private final long version;
+        @Nonnull
+        private final Solid solid;
+        @Nullable
+        private TriangleMesh mesh = null;
+        @Nullable
+        private TriangleMesh detailed = null;
+        private int level = -1;
+    }
 }
@@ -1,5 +1,6 @@
 package civitas.celestis.object;
 
+import civitas.celestis.geometry.mesh.TriangleMesh;
 import civitas.celestis.geometry.profile.Geometry;
 import civitas.celestis.geometry.solid.Solid;
 
@@ -27,6 +28,27 @@ public interface TangibleObject extends BaseObject {
     @Nonnull
     Solid getSolid();
 
+    /**
+     * Gets the renderable mesh of this object in world space.
+     *
+     * @return Triangle mesh
+     */
+    @Nonnull
+    default TriangleMesh getMesh() {
+        return getSolid().mesh();
+    }
+
+    /**
+     * Gets the renderable mesh of this object in world space with given level of detail.
+     *
+     * @param level Level of detail
+     * @return Triangle mesh
+     */
+    @Nonnull
+    default TriangleMesh getMesh(int level) {
+        return getSolid().mesh(level);
+    }
+
     /**
      * Gets the mass of this object.
      *
@@ -34,12 +34,12 @@ public record Pair<T>(
     public static <U> List<Pair<U>> of(@Nonnull List<U> list) {
         final List<Pair<U>> pairs = new ArrayList<>();
 
-        list.forEach(o1 -> list.stream().filter(o -> !o.equals(o1)).forEach(o2 -> {
-            final Pair<U> p = new Pair<>(o1, o2);
-            if (pairs.contains(p)) return;
-
-            pairs.add(p);
-        }));
+        // Each pair is visited exactly once, so there is no need to check for duplicates
+        for (int i = 0; i < list.size(); i++) {
+            for (int j = i + 1; j < list.size(); j++) {
+                pairs.add(new Pair<>(list.get(i), list.get(j)));
+            }
+        }
 
         return pairs;
     }
@@ -83,6 +83,17 @@ public record Pair<T>(
                 (Objects.equals(second, p.first) && Objects.equals(first, p.second));
     }
 
+    /**
+     * Gets the hash code of this pair without regard to the order of components.
+     * This is consistent with {@link Pair#equals(Object)}.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        return first.hashCode() + second.hashCode();
+    }
+
     /**
      * Gets the iterator of values of this pair.
      *
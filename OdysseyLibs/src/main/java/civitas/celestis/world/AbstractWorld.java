@@ -7,12 +7,19 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 /**
  * <h2>AbstractWorld</h2>
  * <p>The default implementation of {@link World}.</p>
+ * <p>
+ * Objects are held in an {@link ObjectRegistry}, so lookups by unique identifier and removals are constant-time.
+ * Removing an object may change the order in which the remaining objects are returned.
+ * </p>
+ * <p>
+ * Object lists are immutable snapshots which are shared until the next addition or removal,
+ * so they can be iterated from any thread without copying or locking.
+ * </p>
  */
 public abstract class AbstractWorld implements World {
     /**
@@ -30,12 +37,14 @@ public abstract class AbstractWorld implements World {
      *
      * @param uniqueId Unique identifier of this world
      * @param name     Name of this world
-     * @param objects  List of objects in this world
+     * @param objects  List of objects to initially populate this world with
      */
     public AbstractWorld(@Nonnull UUID uniqueId, @Nonnull String name, @Nonnull List<BaseObject> objects) {
         this.uniqueId = uniqueId;
         this.name = name;
-        this.objects = objects;
+        this.objects = new ObjectRegistry(objects.size());
+
+        objects.forEach(this.objects::add);
     }
 
     @Nonnull
@@ -43,11 +52,22 @@ public abstract class AbstractWorld implements World {
     @Nonnull
     private final String name;
     @Nonnull
-    private final List<BaseObject> objects;
+    private final ObjectRegistry objects;
+
+    /**
+     * Calls {@link #tick(double)}. This cannot be overridden, since the engine never calls it;
+     * override {@link #tick(double)} instead.
+     *
+     * @param delta Duration between the last tick and now
+     */
+    @Override
+    public final void tick(@Nonnull Duration delta) {
+        tick(delta.getMillis() / 1000d);
+    }
 
     @Override
-    public void tick(@Nonnull Duration delta) {
-        getObjects().forEach(o -> o.tick(delta));
+    public void tick(double seconds) {
+        getObjects().forEach(o -> o.tick(seconds));
     }
 
     @Override
@@ -65,21 +85,26 @@ public abstract class AbstractWorld implements World {
     @Override
     @Nonnull
     public List<BaseObject> getObjects() {
-        return new ArrayList<>(objects);
+        return objects.getObjects();
     }
 
     @Nonnull
     @Override
     public <O extends BaseObject> Stream<O> getObjects(@Nonnull Class<O> objectClass) {
-        return List.copyOf(objects).stream().filter(objectClass::isInstance).map(objectClass::cast);
+        return objects.getObjects(objectClass).stream();
+    }
+
+    @Nonnull
+    @Override
+    public <O extends BaseObject> List<O> getObjectList(@Nonnull Class<O> objectClass) {
+        return objects.getObjects(objectClass);
     }
 
     @Nonnull
     @Override
     public BaseObject getObject(@Nonnull UUID uniqueId) throws NullPointerException {
-        for (BaseObject object : objects) {
-            if (object.getUniqueId().equals(uniqueId)) return object;
-        }
+        final BaseObject object = objects.get(uniqueId);
+        if (object != null) return object;
 
         throw new NullPointerException("Object of unique identifier " + uniqueId + " cannot be found.");
     }
@@ -87,17 +112,13 @@ public abstract class AbstractWorld implements World {
     @Nonnull
     @Override
     public <O extends BaseObject> O getObject(@Nonnull UUID uniqueId, @Nonnull Class<O> type) throws NullPointerException {
-        final AtomicReference<O> object = new AtomicReference<>(null);
-
-        getObjects(type).forEach(o -> {
-            if (o.getUniqueId().equals(uniqueId)) object.set(o);
-        });
+        final BaseObject object = objects.get(uniqueId);
 
-        if (object.get() == null) {
+        if (!type.isInstance(object)) {
             throw new NullPointerException("Object of unique identifier " + uniqueId + " cannot be found.");
         }
 
-        return object.get();
+        return type.cast(object);
     }
 
     @Override
@@ -0,0 +1,205 @@
+package civitas.celestis.world;
+
+import civitas.celestis.number.Vector3;
+import civitas.celestis.object.BaseObject;
+import civitas.celestis.object.ColumnarObject;
+import civitas.celestis.object.ObjectColumns;
+import civitas.celestis.object.TangibleObject;
+import civitas.celestis.util.Pair;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <h2>ColumnarWorld</h2>
+ * <p>
+ * A realistic world which stores the physical state of its objects in primitive columns.
+ * </p>
+ * <p>
+ * The state of every {@link ColumnarObject} added to this world is moved into the {@link ObjectColumns} of this world.
+ * Gravity, fluid resistance and integration are then applied to all of them in tight loops over
+ * primitive arrays, without allocating any objects. Other types of objects are ticked individually as usual.
+ * </p>
+ * <p>
+ * Collisions are handled the same way as in {@link RealisticWorld}.
+ * </p>
+ */
+public class ColumnarWorld extends RealisticWorld {
+    /**
+     * Creates a new world.
+     *
+     * @param uniqueId   Unique identifier of this world
+     * @param name       Name of this world
+     * @param gravity    Gravity vector of this world
+     * @param airDensity Air density of this world
+     */
+    public ColumnarWorld(
+            @Nonnull UUID uniqueId,
+            @Nonnull String name,
+            @Nonnull Vector3 gravity,
+            @Nonnegative double airDensity
+    ) {
+        this(uniqueId, name, gravity, airDensity, 16);
+    }
+
+    /**
+     * Creates a new world.
+     *
+     * @param uniqueId   Unique identifier of this world
+     * @param name       Name of this world
+     * @param gravity    Gravity vector of this world
+     * @param airDensity Air density of this world
+     * @param capacity   Initial capacity of the object columns
+     */
+    public ColumnarWorld(
+            @Nonnull UUID uniqueId,
+            @Nonnull String name,
+            @Nonnull Vector3 gravity,
+            @Nonnegative double airDensity,
+            @Nonnegative int capacity
+    ) {
+        super(uniqueId, name, gravity, airDensity);
+        this.columns = new ObjectColumns(capacity);
+        this.others = new ArrayList<>();
+        this.fluidDensities = new double[capacity];
+    }
+
+    @Nonnull
+    protected final ObjectColumns columns;
+    @Nonnull
+    private final List<BaseObject> others;
+    @Nonnull
+    private double[] fluidDensities;
+
+    @Override
+    protected void tickObjects(double seconds) {
+        final Vector3 gravity = getGravity();
+
+        // Handle columnar objects
+        final int size = columns.size();
+        final double gx = gravity.x() * seconds;
+        final double gy = gravity.y() * seconds;
+        final double gz = gravity.z() * seconds;
+
+        gatherFluidDensities(size);
+        forEachChunk(size, (from, to) -> {
+            accelerate(from, to, gx, gy, gz, seconds);
+            columns.integrate(from, to, seconds);
+        });
+
+        // Handle other objects
+        if (others.isEmpty()) return;
+        final Vector3 g = gravity.multiply(seconds);
+        final Map<TangibleObject, Double> fluidDensities = fluidDensities();
+        for (BaseObject o : List.copyOf(others)) {
+            tickObject(o, seconds, g, fluidDensities);
+        }
+    }
+
+    /**
+     * Computes the fluid density of every columnar object in a single pass over the overlap cache.
+     *
+     * @param size Number of columnar objects
+     */
+    private void gatherFluidDensities(@Nonnegative int size) {
+        if (fluidDensities.length < size) fluidDensities = new double[columns.masses().length];
+        Arrays.fill(fluidDensities, 0, size, getAirDensity());
+
+        for (int i = 0; i < overlaps.size(); i++) {
+            final Pair<TangibleObject> p = overlaps.get(i);
+            gatherFluidDensity(p.first(), p.second());
+            gatherFluidDensity(p.second(), p.first());
+        }
+    }
+
+    /**
+     * Raises the fluid density of an object to the density of an object it overlaps.
+     *
+     * @param object Object to update
+     * @param fluid  Object which is overlapped
+     */
+    private void gatherFluidDensity(@Nonnull TangibleObject object, @Nonnull TangibleObject fluid) {
+        if (!(object instanceof ColumnarObject co) || !columns.contains(co)) return;
+
+        final int slot = columns.slotOf(co);
+        fluidDensities[slot] = Math.max(fluidDensities[slot], fluid.getDensity());
+    }
+
+    /**
+     * Applies gravity and fluid resistance to every columnar object.
+     * This is the columnar equivalent of {@link RealisticWorld#applyFluidResistance(TangibleObject, double, double)}.
+     *
+     * @param from    First slot (inclusive)
+     * @param to      Last slot (exclusive)
+     * @param gx      X value of gravity scaled to the duration of this tick
+     * @param gy      Y value of gravity scaled to the duration of this tick
+     * @param gz      Z value of gravity scaled to the duration of this tick
+     * @param seconds Duration of this tick in seconds
+     */
+    private void accelerate(int from, int to, double gx, double gy, double gz, double seconds) {
+        final double[] velocities = columns.velocities();
+        final double[] masses = columns.masses();
+        final double[] dragAreas = columns.dragAreas();
+
+        for (int i = from; i < to; i++) {
+            final int v = i * 3;
+
+            // Apply gravity
+            final double vx = velocities[v] + gx;
+            final double vy = velocities[v + 1] + gy;
+            final double vz = velocities[v + 2] + gz;
+
+            // Apply fluid resistance
+            final double speed2 = vx * vx + vy * vy + vz * vz;
+            final double dragForce = dragAreas[i] * fluidDensities[i] * speed2;
+            final double kineticEnergy = 0.5 * masses[i] * Math.sqrt(speed2);
+
+            double ratio = 1;
+            if (Double.isFinite(dragForce) && dragForce > 0 && kineticEnergy != 0) {
+                ratio = Math.max(Math.min(1, 1 - ((dragForce * seconds) / kineticEnergy)), 0);
+            }
+
+            velocities[v] = vx * ratio;
+            velocities[v + 1] = vy * ratio;
+            velocities[v + 2] = vz * ratio;
+        }
+    }
+
+    /**
+     * Gets the object columns of this world.
+     * The columns must not be modified while this world is being ticked.
+     *
+     * @return Object columns
+     */
+    @Nonnull
+    public ObjectColumns getColumns() {
+        return columns;
+    }
+
+    @Override
+    public <O extends BaseObject> void addObject(@Nonnull O object) {
+        if (object instanceof ColumnarObject co) {
+            columns.adopt(co);
+        } else {
+            others.add(object);
+        }
+
+        super.addObject(object);
+    }
+
+    @Override
+    public <O extends BaseObject> void removeObject(@Nonnull O object) {
+        super.removeObject(object);
+
+        if (object instanceof ColumnarObject co) {
+            if (columns.contains(co)) columns.release(co);
+        } else {
+            others.remove(object);
+        }
+    }
+}
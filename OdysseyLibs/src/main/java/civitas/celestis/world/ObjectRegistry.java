@@ -0,0 +1,479 @@
+package civitas.celestis.world;
+
+import civitas.celestis.object.BaseObject;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <h2>ObjectRegistry</h2>
+ * <p>
+ * An indexed store of the objects of a world.
+ * Objects are kept in a dense array of slots, which is indexed in two ways:
+ * </p>
+ * <ul>
+ *     <li>
+ *         A hash index from unique identifier to slot. The index is an open-addressing table keyed on the
+ *         two halves of each identifier, so lookups neither box nor allocate.
+ *     </li>
+ *     <li>
+ *         A secondary index per queried class, listing the slots of every object which is an instance of it.
+ *         Class indices are built on first query, then maintained on every addition and removal.
+ *         Their slots are unordered, and are sorted when a filtered snapshot is taken.
+ *     </li>
+ * </ul>
+ * <p>
+ * Removing an object moves the object in the last slot into the freed slot, so removal is constant-time
+ * but does not preserve the order of objects. Unique identifiers are unique within a registry;
+ * adding an object whose identifier is already present replaces the present object in its slot.
+ * </p>
+ * <p>
+ * Readers never see the slots directly. They receive an immutable snapshot of the objects, which is built
+ * on the first read after a mutation and shared by every read until the next one. Taking a snapshot is a
+ * single volatile read in the common case, so render and network threads can iterate a consistent view
+ * of the world concurrently with the ticking thread without copying. Mutations are serialized,
+ * and only invalidate the current snapshot.
+ * </p>
+ */
+@ThreadSafe
+final class ObjectRegistry {
+    /**
+     * Creates a new registry.
+     *
+     * @param capacity Initial capacity
+     */
+    ObjectRegistry(@Nonnegative int capacity) {
+        final int length = Math.max(16, capacity);
+        final int table = Integer.highestOneBit(length * 2 - 1) << 1;
+
+        this.objects = new BaseObject[length];
+        this.high = new long[table];
+        this.low = new long[table];
+        this.slots = new int[table];
+        this.mask = table - 1;
+
+        Arrays.fill(slots, EMPTY);
+    }
+
+    private static final int EMPTY = -1;
+
+    @Nonnull
+    private BaseObject[] objects;
+    private int size = 0;
+
+    // Hash index
+    @Nonnull
+    private long[] high;
+    @Nonnull
+    private long[] low;
+    @Nonnull
+    private int[] slots;
+    private int mask;
+
+    // Class indices
+    @Nonnull
+    private final Map<Class<?>, ClassIndex> classes = new HashMap<>();
+
+    // Snapshot of the current version, or null if it has not been taken since the last mutation
+    @Nullable
+    private volatile Snapshot snapshot = null;
+
+    //
+    // Queries
+    //
+
+    /**
+     * Gets an object by unique identifier.
+     *
+     * @param uniqueId Unique identifier of object
+     * @return Object if found, {@code null} if not
+     */
+    @Nullable
+    synchronized BaseObject get(@Nonnull UUID uniqueId) {
+        final int index = find(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+        return index >= 0 ? objects[slots[index]] : null;
+    }
+
+    /**
+     * Gets an immutable snapshot of every object of this registry, in slot order.
+     * The snapshot is shared until the next mutation, and is never modified afterward.
+     *
+     * @return Immutable list of objects
+     */
+    @Nonnull
+    List<BaseObject> getObjects() {
+        return snapshot().objects();
+    }
+
+    /**
+     * Gets an immutable snapshot of every object which is an instance of given class, in slot order.
+     * The snapshot is consistent with the snapshot returned by {@link #getObjects()}.
+     *
+     * @param type Class of objects
+     * @param <O>  Type of objects
+     * @return Immutable list of objects
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    <O extends BaseObject> List<O> getObjects(@Nonnull Class<O> type) {
+        final Snapshot current = snapshot();
+        final List<?> cached = current.classes().get(type);
+        if (cached != null) return (List<O>) cached;
+
+        final List<O> filtered = filter(current, type);
+        current.classes().putIfAbsent(type, filtered);
+        return filtered;
+    }
+
+    /**
+     * Gets the snapshot of the current version, taking it if necessary.
+     *
+     * @return Current snapshot
+     */
+    @Nonnull
+    private Snapshot snapshot() {
+        final Snapshot current = snapshot;
+        if (current != null) return current;
+
+        synchronized (this) {
+            if (snapshot == null) {
+                final List<BaseObject> copy = Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(objects, size)));
+                snapshot = new Snapshot(copy, new ConcurrentHashMap<>());
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Filters a snapshot by class. The class index is used while the snapshot is current,
+     * so only matching objects are visited. Class indices are not kept in slot order,
+     * so their slots are sorted to keep the result in the order of the snapshot.
+     *
+     * @param source Snapshot to filter
+     * @param type   Class of objects
+     * @param <O>    Type of objects
+     * @return Immutable list of objects
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    private synchronized <O extends BaseObject> List<O> filter(@Nonnull Snapshot source, @Nonnull Class<O> type) {
+        final Object[] result;
+
+        if (source == snapshot) {
+            final ClassIndex index = classIndex(type);
+            final int[] members = Arrays.copyOf(index.members, index.size);
+            Arrays.sort(members);
+
+            result = new Object[members.length];
+
+            for (int i = 0; i < members.length; i++) {
+                result[i] = objects[members[i]];
+            }
+        } else {
+            // The registry has been mutated since, so the snapshot is filtered directly
+            result = source.objects().stream().filter(type::isInstance).toArray();
+        }
+
+        return (List<O>) (List<?>) Collections.unmodifiableList(Arrays.asList(result));
+    }
+
+    //
+    // Modification
+    //
+
+    /**
+     * Adds an object to this registry.
+     * If an object of the same unique identifier is already present, it is replaced.
+     *
+     * @param object Object to add
+     */
+    synchronized void add(@Nonnull BaseObject object) {
+        snapshot = null;
+
+        final UUID uniqueId = object.getUniqueId();
+        final long h = uniqueId.getMostSignificantBits(), l = uniqueId.getLeastSignificantBits();
+        final int index = find(h, l);
+
+        if (index >= 0) {
+            // Replace in place
+            final int slot = slots[index];
+            for (ClassIndex ci : classes.values()) ci.remove(slot);
+
+            objects[slot] = object;
+            for (ClassIndex ci : classes.values()) ci.offer(object, slot);
+            return;
+        }
+
+        if (size == objects.length) grow();
+
+        final int slot = size++;
+        objects[slot] = object;
+
+        if ((size * 2L) > slots.length) {
+            // Rehashing indexes every occupied slot, including the new one
+            rehash(slots.length * 2);
+        } else {
+            high[~index] = h;
+            low[~index] = l;
+            slots[~index] = slot;
+        }
+
+        for (ClassIndex ci : classes.values()) ci.offer(object, slot);
+    }
+
+    /**
+     * Removes an object from this registry.
+     * The object in the last slot is moved into the slot of the removed object.
+     *
+     * @param object Object to remove
+     * @return {@code true} if the object was present and has been removed
+     */
+    synchronized boolean remove(@Nonnull BaseObject object) {
+        final UUID uniqueId = object.getUniqueId();
+        final int index = find(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+        if (index < 0) return false;
+
+        final int slot = slots[index];
+        if (!objects[slot].equals(object)) return false;
+
+        snapshot = null;
+
+        delete(index);
+        for (ClassIndex ci : classes.values()) ci.remove(slot);
+
+        final int last = --size;
+
+        if (slot != last) {
+            // Swap the last object into the freed slot
+            final BaseObject moved = objects[last];
+            objects[slot] = moved;
+
+            final UUID movedId = moved.getUniqueId();
+            slots[find(movedId.getMostSignificantBits(), movedId.getLeastSignificantBits())] = slot;
+
+            for (ClassIndex ci : classes.values()) ci.move(last, slot);
+        }
+
+        objects[last] = null;
+        return true;
+    }
+
+    //
+    // Hash Index
+    //
+
+    /**
+     * Hashes a unique identifier.
+     *
+     * @param h Most significant bits
+     * @param l Least significant bits
+     * @return Hash code
+     */
+    private static int hash(long h, long l) {
+        // Finalizer of MurmurHash3, since random identifiers vary in high bits and sequential ones in low bits
+        long x = h ^ Long.rotateLeft(l, 32);
+        x = (x ^ (x >>> 33)) * 0xff51afd7ed558ccdL;
+        x = (x ^ (x >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (x ^ (x >>> 33));
+    }
+
+    /**
+     * Finds the table index of a unique identifier.
+     *
+     * @param h Most significant bits
+     * @param l Least significant bits
+     * @return Table index if found, or the bitwise complement of the empty index to insert at if not
+     */
+    private int find(long h, long l) {
+        int i = hash(h, l) & mask;
+
+        while (slots[i] != EMPTY) {
+            if (high[i] == h && low[i] == l) return i;
+            i = (i + 1) & mask;
+        }
+
+        return ~i;
+    }
+
+    /**
+     * Deletes an entry, shifting back any following entries which would otherwise become unreachable.
+     *
+     * @param index Table index of entry
+     */
+    private void delete(int index) {
+        int i = index;
+        int j = index;
+
+        while (true) {
+            j = (j + 1) & mask;
+            if (slots[j] == EMPTY) break;
+
+            final int k = hash(high[j], low[j]) & mask;
+
+            // The entry at j stays if its home lies cyclically within (i, j]
+            if (i <= j ? (i < k && k <= j) : (i < k || k <= j)) continue;
+
+            high[i] = high[j];
+            low[i] = low[j];
+            slots[i] = slots[j];
+            i = j;
+        }
+
+        slots[i] = EMPTY;
+    }
+
+    /**
+     * Rebuilds the hash index with a new table length.
+     *
+     * @param length New table length (a power of two)
+     */
+    private void rehash(int length) {
+        high = new long[length];
+        low = new long[length];
+        slots = new int[length];
+        mask = length - 1;
+
+        Arrays.fill(slots, EMPTY);
+
+        for (int slot = 0; slot < size; slot++) {
+            final UUID uniqueId = objects[slot].getUniqueId();
+            final int i = ~find(uniqueId.getMostSignificantBits(), uniqueId.getLeastSignificantBits());
+
+            high[i] = uniqueId.getMostSignificantBits();
+            low[i] = uniqueId.getLeastSignificantBits();
+            slots[i] = slot;
+        }
+    }
+
+    /**
+     * Doubles the capacity of the object array and every class index.
+     */
+    private void grow() {
+        objects = Arrays.copyOf(objects, objects.length * 2);
+        for (ClassIndex ci : classes.values()) ci.grow(objects.length);
+    }
+
+    //
+    // Class Index
+    //
+
+    /**
+     * Gets the class index of given class, building it if necessary.
+     *
+     * @param type Class of objects
+     * @return Class index
+     */
+    @Nonnull
+    private ClassIndex classIndex(@Nonnull Class<?> type) {
+        final ClassIndex existing = classes.get(type);
+        if (existing != null) return existing;
+
+        final ClassIndex index = new ClassIndex(type, objects.length);
+        for (int slot = 0; slot < size; slot++) index.offer(objects[slot], slot);
+
+        classes.put(type, index);
+        return index;
+    }
+
+    /**
+     * An immutable view of one version of a registry.
+     *
+     * @param objects Every object, in slot order
+     * @param classes Lazily filtered lists of objects by class
+     */
+    private record Snapshot(@Nonnull List<BaseObject> objects, @Nonnull Map<Class<?>, List<?>> classes) {}
+
+    /**
+     * The slots of every object which is an instance of a class.
+     */
+    private static final class ClassIndex {
+        /**
+         * Creates a new empty class index.
+         *
+         * @param type     Class of objects
+         * @param capacity Capacity of the object array of the registry
+         */
+        private ClassIndex(@Nonnull Class<?> type, @Nonnegative int capacity) {
+            this.type = type;
+            this.members = new int[capacity];
+            this.positions = new int[capacity];
+
+            Arrays.fill(positions, EMPTY);
+        }
+
+        @Nonnull
+        private final Class<?> type;
+        @Nonnull
+        private int[] members; // Slots of members
+        @Nonnull
+        private int[] positions; // Position in members by slot
+        private int size = 0;
+
+        /**
+         * Adds a slot if its object is an instance of the class of this index.
+         *
+         * @param object Object in slot
+         * @param slot   Index of slot
+         */
+        private void offer(@Nonnull BaseObject object, int slot) {
+            if (!type.isInstance(object)) return;
+
+            members[size] = slot;
+            positions[slot] = size++;
+        }
+
+        /**
+         * Removes a slot from this index, if it is a member.
+         *
+         * @param slot Index of slot
+         */
+        private void remove(int slot) {
+            final int position = positions[slot];
+            if (position == EMPTY) return;
+
+            final int last = members[--size];
+            members[position] = last;
+            positions[last] = position;
+            positions[slot] = EMPTY;
+        }
+
+        /**
+         * Updates this index after an object has been moved to another slot.
+         *
+         * @param from Previous slot
+         * @param to   New slot
+         */
+        private void move(int from, int to) {
+            final int position = positions[from];
+            if (position == EMPTY) return;
+
+            members[position] = to;
+            positions[to] = position;
+            positions[from] = EMPTY;
+        }
+
+        /**
+         * Grows this index to match the capacity of the registry.
+         *
+         * @param capacity New capacity
+         */
+        private void grow(@Nonnegative int capacity) {
+            final int previous = positions.length;
+
+            members = Arrays.copyOf(members, capacity);
+            positions = Arrays.copyOf(positions, capacity);
+
+            Arrays.fill(positions, previous, capacity, EMPTY);
+        }
+    }
+}
@@ -1,23 +1,31 @@
 package civitas.celestis.world;
 
+import civitas.celestis.metrics.Histogram;
+import civitas.celestis.metrics.Metrics;
+import civitas.celestis.metrics.flight.WorldTickEvent;
 import civitas.celestis.number.Vector3;
 import civitas.celestis.object.BaseObject;
 import civitas.celestis.object.TangibleObject;
 import civitas.celestis.util.Pair;
-import org.joda.time.Duration;
+import civitas.celestis.world.collision.BroadPhase;
+import civitas.celestis.world.collision.SweepAndPruneBroadPhase;
 
 import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Nullable;
+import java.util.*;
+import java.util.stream.IntStream;
 
 /**
  * <h2>RealisticWorld</h2>
  * <p>The default implementation of {@link TangibleWorld}.</p>
  */
 public class RealisticWorld extends AbstractWorld implements TangibleWorld {
+    /**
+     * The default number of objects per chunk in parallel mode.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256;
+
     /**
      * Creates a new world.
      *
@@ -84,25 +92,72 @@ public class RealisticWorld extends AbstractWorld implements TangibleWorld {
     private double airDensity;
     @Nonnull
     protected final List<Pair<TangibleObject>> overlaps;
+    @Nonnull
+    private BroadPhase broadPhase = new SweepAndPruneBroadPhase();
+    private boolean parallel = false;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    @Nullable
+    private Histogram collisionTime = null;
+    @Nullable
+    private Histogram objectTime = null;
 
     @Override
-    public void tick(@Nonnull Duration delta) {
-        // Handle collisions
+    public void tick(double seconds) {
+        final boolean measured = Metrics.isEnabled();
+        final WorldTickEvent event = new WorldTickEvent();
+
+        if (!measured && !event.isEnabled()) {
+            // Handle collisions
+            handleCollisions();
+
+            // Loop through objects
+            tickObjects(seconds);
+            return;
+        }
+
+        // Same as above, but each phase is measured separately
+        event.begin();
+        final long start = System.nanoTime();
         handleCollisions();
 
-        // Loop through objects
-        tickObjects(delta);
+        final long middle = System.nanoTime();
+        tickObjects(seconds);
+
+        final long end = System.nanoTime();
+        event.end();
+
+        if (measured) {
+            if (collisionTime == null || objectTime == null) {
+                collisionTime = Metrics.registry().histogram("world." + getName() + ".collisions");
+                objectTime = Metrics.registry().histogram("world." + getName() + ".objects");
+            }
+
+            collisionTime.record(middle - start);
+            objectTime.record(end - middle);
+        }
+
+        if (event.shouldCommit()) {
+            event.world = getName();
+            event.objects = getObjects().size();
+            event.delta = Math.round(seconds * 1e9);
+            event.collisionTime = middle - start;
+            event.objectTime = end - middle;
+            event.commit();
+        }
     }
 
     /**
-     * Loops through all possible object pairs and handles collisions.
+     * Loops through all candidate object pairs and handles collisions.
+     * Candidates are provided by the broad phase of this world.
      */
     protected void handleCollisions() {
-        // Get all possible pairs
-        final List<Pair<TangibleObject>> pairs = Pair.of(getObjects(TangibleObject.class).toList());
+        // Get candidate pairs
+        final List<Pair<TangibleObject>> pairs = broadPhase.candidates(getObjectList(TangibleObject.class));
+        final Set<Pair<TangibleObject>> candidates = new HashSet<>(pairs);
 
-        // Clear invalid cache
-        overlaps.removeIf(p -> !pairs.contains(p));
+        // Clear invalid cache (pairs which are no longer candidates cannot overlap)
+        overlaps.removeIf(p -> !candidates.contains(p));
+        final Set<Pair<TangibleObject>> cached = new HashSet<>(overlaps);
 
         // Loop through pairs
         pairs.forEach(p -> {
@@ -110,7 +165,7 @@ public class RealisticWorld extends AbstractWorld implements TangibleWorld {
             final TangibleObject o2 = p.second();
 
             if (o1.overlaps(o2)) {
-                if (!overlaps.contains(p)) {
+                if (cached.add(p)) {
                     overlaps.add(p);
 
                     // Handle collision
@@ -132,7 +187,7 @@ public class RealisticWorld extends AbstractWorld implements TangibleWorld {
                         o2.setAcceleration(v2);
                     }
                 }
-            } else {
+            } else if (cached.remove(p)) {
                 overlaps.remove(p);
             }
         });
@@ -140,48 +195,114 @@ public class RealisticWorld extends AbstractWorld implements TangibleWorld {
 
     /**
      * Loops through all objects and handles physics.
+     * <p>
+     * In parallel mode, objects are split into chunks which are ticked concurrently.
+     * Each object only reads the shared state of this tick and modifies itself,
+     * so the result is identical to ticking the objects sequentially.
+     * </p>
      *
-     * @param delta Duration between the last tick and now
+     * @param seconds Duration between the last tick and now in seconds
      */
-    protected void tickObjects(@Nonnull Duration delta) {
-        // Convert delta to seconds
-        final double seconds = delta.getMillis() / 1000d;
-
+    protected void tickObjects(double seconds) {
         // Scale gravity
         final Vector3 g = gravity.multiply(seconds);
 
+        // Index fluid densities once instead of scanning overlaps for every object
+        final Map<TangibleObject, Double> fluidDensities = fluidDensities();
+
         // Loop through objects
-        getObjects().forEach(o -> {
-            // Apply gravity
-            o.accelerate(g);
-
-            if (o instanceof TangibleObject to) {
-                // Apply fluid resistance
-                final AtomicReference<Double> fluidDensity = new AtomicReference<>(airDensity);
-                overlaps.forEach(p -> {
-                    if (!p.contains(to)) return;
-                    fluidDensity.getAndUpdate(d -> Math.max(d, p.other(to).getDensity()));
-                });
-
-                final double dragForce = to.getDragCoefficient()
-                        * fluidDensity.get()
-                        * to.getCrossSection()
-                        * to.getAcceleration().magnitude2();
-
-                // Filter out illegal values
-                if (!Double.isFinite(dragForce)) return;
-                if (dragForce <= 0) return;
-
-                final double kineticEnergy = 0.5 * to.getMass() * to.getAcceleration().magnitude();
-                if (kineticEnergy == 0) return; // No need to apply resistance
-
-                final double decelerationRatio = Math.max(Math.min(1, 1 - ((dragForce * seconds) / kineticEnergy)), 0);
-                o.setAcceleration(o.getAcceleration().multiply(decelerationRatio));
+        final List<BaseObject> objects = getObjects();
+        forEachChunk(objects.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                tickObject(objects.get(i), seconds, g, fluidDensities);
             }
+        });
+    }
+
+    /**
+     * Handles the physics of a single object, then ticks it.
+     *
+     * @param o              Object to tick
+     * @param seconds        Duration between the last tick and now in seconds
+     * @param g              Gravity scaled to the duration of this tick
+     * @param fluidDensities Map of overlapped objects to their fluid densities
+     */
+    protected void tickObject(
+            @Nonnull BaseObject o,
+            double seconds,
+            @Nonnull Vector3 g,
+            @Nonnull Map<TangibleObject, Double> fluidDensities
+    ) {
+        // Apply gravity
+        o.accelerate(g);
+
+        // Apply fluid resistance
+        if (o instanceof TangibleObject to) {
+            applyFluidResistance(to, Math.max(airDensity, fluidDensities.getOrDefault(to, 0d)), seconds);
+        }
+
+        // Tick object
+        o.tick(seconds);
+    }
+
+    /**
+     * Maps each overlapped object to the density of the densest object it overlaps.
+     * Objects which do not overlap anything are not included, and are in air.
+     *
+     * @return Map of objects to fluid densities
+     */
+    @Nonnull
+    protected Map<TangibleObject, Double> fluidDensities() {
+        final Map<TangibleObject, Double> fluidDensities = new HashMap<>();
 
-            // Tick object
-            o.tick(delta);
+        overlaps.forEach(p -> {
+            fluidDensities.merge(p.first(), p.second().getDensity(), Math::max);
+            fluidDensities.merge(p.second(), p.first().getDensity(), Math::max);
         });
+
+        return fluidDensities;
+    }
+
+    /**
+     * Splits a range of indices into chunks, and performs an action on each chunk.
+     * Chunks are processed concurrently in parallel mode, and sequentially otherwise.
+     * When called from within a fork-join pool, chunks are processed on that pool.
+     *
+     * @param size   Number of indices
+     * @param action Action to perform with the start (inclusive) and end (exclusive) of each chunk
+     */
+    protected void forEachChunk(@Nonnegative int size, @Nonnull ChunkAction action) {
+        if (!parallel || size <= chunkSize) {
+            action.run(0, size);
+            return;
+        }
+
+        final int chunks = (size + chunkSize - 1) / chunkSize;
+        IntStream.range(0, chunks).parallel().forEach(c -> action.run(c * chunkSize, Math.min(size, (c + 1) * chunkSize)));
+    }
+
+    /**
+     * Decelerates an object by the drag it experiences in given fluid.
+     *
+     * @param to           Object to decelerate
+     * @param fluidDensity Density of the fluid the object is in
+     * @param seconds      Duration of this tick in seconds
+     */
+    protected void applyFluidResistance(@Nonnull TangibleObject to, @Nonnegative double fluidDensity, double seconds) {
+        final double dragForce = to.getDragCoefficient()
+                * fluidDensity
+                * to.getCrossSection()
+                * to.getAcceleration().magnitude2();
+
+        // Filter out illegal values
+        if (!Double.isFinite(dragForce)) return;
+        if (dragForce <= 0) return;
+
+        final double kineticEnergy = 0.5 * to.getMass() * to.getAcceleration().magnitude();
+        if (kineticEnergy == 0) return; // No need to apply resistance
+
+        final double decelerationRatio = Math.max(Math.min(1, 1 - ((dragForce * seconds) / kineticEnergy)), 0);
+        to.setAcceleration(to.getAcceleration().multiply(decelerationRatio));
     }
 
     /**
@@ -194,6 +315,63 @@ public class RealisticWorld extends AbstractWorld implements TangibleWorld {
         return new ArrayList<>(overlaps);
     }
 
+    /**
+     * Gets the broad phase this world uses to find collision candidates.
+     *
+     * @return Broad phase
+     */
+    @Nonnull
+    public BroadPhase getBroadPhase() {
+        return broadPhase;
+    }
+
+    /**
+     * Sets the broad phase this world uses to find collision candidates.
+     *
+     * @param broadPhase Broad phase
+     */
+    public void setBroadPhase(@Nonnull BroadPhase broadPhase) {
+        this.broadPhase = broadPhase;
+    }
+
+    /**
+     * Checks if objects are ticked in parallel.
+     *
+     * @return {@code true} if objects are split into chunks which are ticked concurrently
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether objects are ticked in parallel.
+     *
+     * @param parallel {@code true} to split objects into chunks which are ticked concurrently
+     */
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    /**
+     * Gets the number of objects per chunk in parallel mode.
+     *
+     * @return Chunk size
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of objects per chunk in parallel mode.
+     *
+     * @param chunkSize Chunk size
+     * @throws IllegalArgumentException When the chunk size is less than one
+     */
+    public void setChunkSize(int chunkSize) throws IllegalArgumentException {
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be at least one.");
+        this.chunkSize = chunkSize;
+    }
+
     @Override
     @Nonnull
     public Vector3 getGravity() {
@@ -215,4 +393,18 @@ public class RealisticWorld extends AbstractWorld implements TangibleWorld {
     public void setAirDensity(@Nonnegative double airDensity) {
         this.airDensity = airDensity;
     }
+
+    /**
+     * An action performed on a chunk of indices.
+     */
+    @FunctionalInterface
+    protected interface ChunkAction {
+        /**
+         * Performs this action.
+         *
+         * @param from Start of chunk (inclusive)
+         * @param to   End of chunk (exclusive)
+         */
+        void run(int from, int to);
+    }
 }
@@ -30,14 +30,25 @@ public interface World {
     String getName();
 
     /**
-     * Called every tick.
+     * Called every tick. This is the only tick method which is called by the engine.
+     *
+     * @param seconds Duration between the last tick and now in seconds
+     */
+    void tick(double seconds);
+
+    /**
+     * Ticks this world by a duration of whole milliseconds.
+     * This is a convenience which calls {@link #tick(double)}, and is never called by the engine.
      *
      * @param delta Duration between the last tick and now
      */
-    void tick(@Nonnull Duration delta);
+    default void tick(@Nonnull Duration delta) {
+        tick(delta.getMillis() / 1000d);
+    }
 
     /**
      * Gets a list of all objects in this world.
+     * The list is a snapshot, and may be immutable.
      *
      * @return List of objects
      */
@@ -54,6 +65,19 @@ public interface World {
     @Nonnull
     <O extends BaseObject> Stream<O> getObjects(@Nonnull Class<O> objectClass);
 
+    /**
+     * Gets a filtered list of objects in this world.
+     * The list is a snapshot, and may be immutable.
+     *
+     * @param objectClass Type of object to get
+     * @param <O>         Type of object to get
+     * @return List of filtered and cast objects
+     */
+    @Nonnull
+    default <O extends BaseObject> List<O> getObjectList(@Nonnull Class<O> objectClass) {
+        return getObjects(objectClass).toList();
+    }
+
     /**
      * Gets an object by unique identifier.
      *
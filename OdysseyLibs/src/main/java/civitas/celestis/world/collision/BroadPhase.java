@@ -0,0 +1,33 @@
+package civitas.celestis.world.collision;
+
+import civitas.celestis.object.TangibleObject;
+import civitas.celestis.util.Pair;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+/**
+ * <h2>BroadPhase</h2>
+ * <p>
+ * The broad phase of collision detection.
+ * A broad phase culls object pairs which cannot possibly collide by comparing their bounding boxes,
+ * so that only the remaining candidates need to be checked using {@link TangibleObject#overlaps(TangibleObject)}.
+ * </p>
+ * <p>
+ * Implementations must be conservative. Every pair of objects whose solids overlap
+ * must be returned as a candidate, while returning extra candidates is allowed.
+ * </p>
+ */
+public interface BroadPhase {
+    /**
+     * Gets a list of object pairs whose bounding boxes overlap.
+     * This assumes that the given list does not contain duplicate elements.
+     * Each candidate pair is returned exactly once.
+     *
+     * @param objects List of objects to check
+     * @param <O>     Type of object
+     * @return List of candidate pairs
+     */
+    @Nonnull
+    <O extends TangibleObject> List<Pair<O>> candidates(@Nonnull List<O> objects);
+}
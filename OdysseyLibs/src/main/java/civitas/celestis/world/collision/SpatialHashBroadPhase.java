@@ -0,0 +1,144 @@
+package civitas.celestis.world.collision;
+
+import civitas.celestis.geometry.solid.BoundingBox;
+import civitas.celestis.object.TangibleObject;
+import civitas.celestis.util.Pair;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <h2>SpatialHashBroadPhase</h2>
+ * <p>
+ * A broad phase which divides space into a uniform grid of cubic cells.
+ * Only objects which share a cell are compared to each other.
+ * </p>
+ * <p>
+ * The cell size should be set to roughly the size of a typical object.
+ * Cells which are too small will cause large objects to occupy many cells,
+ * while cells which are too large will cause unnecessary comparisons.
+ * </p>
+ */
+public class SpatialHashBroadPhase implements BroadPhase {
+    /**
+     * Creates a new spatial hash broad phase.
+     *
+     * @param cellSize Edge length of each cell
+     * @throws IllegalArgumentException When the cell size is not a positive finite number
+     */
+    public SpatialHashBroadPhase(double cellSize) throws IllegalArgumentException {
+        if (!Double.isFinite(cellSize) || cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be a positive finite number.");
+        }
+
+        this.cellSize = cellSize;
+    }
+
+    private final double cellSize;
+
+    /**
+     * Gets the edge length of each cell.
+     *
+     * @return Cell size
+     */
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    @Nonnull
+    @Override
+    public <O extends TangibleObject> List<Pair<O>> candidates(@Nonnull List<O> objects) {
+        final List<Pair<O>> pairs = new ArrayList<>();
+        if (objects.size() < 2) return pairs;
+
+        // Build bounding boxes
+        final BoundingBox[] boxes = new BoundingBox[objects.size()];
+        for (int i = 0; i < boxes.length; i++) {
+            boxes[i] = objects.get(i).getSolid().boundingBox();
+        }
+
+        // Insert indices into every cell their boxes occupy
+        final Map<Cell, List<Integer>> cells = new HashMap<>();
+
+        for (int i = 0; i < boxes.length; i++) {
+            final Cell min = cell(boxes[i].minimum(0), boxes[i].minimum(1), boxes[i].minimum(2));
+            final Cell max = cell(boxes[i].maximum(0), boxes[i].maximum(1), boxes[i].maximum(2));
+
+            for (long x = min.x(); x <= max.x(); x++) {
+                for (long y = min.y(); y <= max.y(); y++) {
+                    for (long z = min.z(); z <= max.z(); z++) {
+                        cells.computeIfAbsent(new Cell(x, y, z), c -> new ArrayList<>()).add(i);
+                    }
+                }
+            }
+        }
+
+        // Compare objects which share a cell
+        cells.forEach((cell, members) -> {
+            for (int a = 0; a < members.size(); a++) {
+                final int i = members.get(a);
+
+                for (int b = a + 1; b < members.size(); b++) {
+                    final int j = members.get(b);
+                    if (!boxes[i].overlaps(boxes[j])) continue;
+
+                    // Only report the pair from one cell to avoid duplicates
+                    if (!cell.equals(owner(boxes[i], boxes[j]))) continue;
+
+                    pairs.add(i < j
+                            ? new Pair<>(objects.get(i), objects.get(j))
+                            : new Pair<>(objects.get(j), objects.get(i)));
+                }
+            }
+        });
+
+        return pairs;
+    }
+
+    /**
+     * Gets the cell which contains given point.
+     *
+     * @param x X value of point
+     * @param y Y value of point
+     * @param z Z value of point
+     * @return Cell of point
+     */
+    @Nonnull
+    private Cell cell(double x, double y, double z) {
+        return new Cell(
+                (long) Math.floor(x / cellSize),
+                (long) Math.floor(y / cellSize),
+                (long) Math.floor(z / cellSize)
+        );
+    }
+
+    /**
+     * Gets the cell which owns the overlap of two boxes.
+     * This is the cell containing the minimum corner of the intersection,
+     * which is shared by both boxes.
+     *
+     * @param b1 First box
+     * @param b2 Second box
+     * @return Owner cell
+     */
+    @Nonnull
+    private Cell owner(@Nonnull BoundingBox b1, @Nonnull BoundingBox b2) {
+        return cell(
+                Math.max(b1.minimum(0), b2.minimum(0)),
+                Math.max(b1.minimum(1), b2.minimum(1)),
+                Math.max(b1.minimum(2), b2.minimum(2))
+        );
+    }
+
+    /**
+     * A transient data class for storing the coordinates of a cell.
+     *
+     * @param x X index of cell
+     * @param y Y index of cell
+     * @param z Z index of cell
+     */
+    private record Cell(long x, long y, long z) {}
+}
@@ -0,0 +1,100 @@
+package civitas.celestis.world.collision;
+
+import civitas.celestis.geometry.solid.BoundingBox;
+import civitas.celestis.object.TangibleObject;
+import civitas.celestis.util.Pair;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <h2>SweepAndPruneBroadPhase</h2>
+ * <p>
+ * A broad phase which sorts bounding boxes along a single axis,
+ * then sweeps through the sorted list to find overlapping intervals.
+ * The axis with the greatest spread is chosen every pass.
+ * </p>
+ * <p>
+ * This requires no tuning, and performs well unless most objects
+ * are stacked along every axis at once.
+ * </p>
+ */
+public class SweepAndPruneBroadPhase implements BroadPhase {
+    @Nonnull
+    @Override
+    public <O extends TangibleObject> List<Pair<O>> candidates(@Nonnull List<O> objects) {
+        final List<Pair<O>> pairs = new ArrayList<>();
+        if (objects.size() < 2) return pairs;
+
+        // Build bounding boxes
+        final List<Entry<O>> entries = new ArrayList<>(objects.size());
+        objects.forEach(o -> entries.add(new Entry<>(o, o.getSolid().boundingBox())));
+
+        // Sort by minimum value along the widest axis
+        final int axis = widestAxis(entries);
+        entries.sort(Comparator.comparingDouble(e -> e.box().minimum(axis)));
+
+        // Sweep
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry<O> e1 = entries.get(i);
+            final double end = e1.box().maximum(axis);
+
+            for (int j = i + 1; j < entries.size(); j++) {
+                final Entry<O> e2 = entries.get(j);
+                if (e2.box().minimum(axis) > end) break; // No further entries can overlap
+
+                if (e1.box().overlaps(e2.box())) {
+                    pairs.add(new Pair<>(e1.object(), e2.object()));
+                }
+            }
+        }
+
+        return pairs;
+    }
+
+    /**
+     * Gets the axis along which the centers of given boxes have the greatest variance.
+     *
+     * @param entries List of entries
+     * @return Index of axis
+     */
+    private static int widestAxis(@Nonnull List<? extends Entry<?>> entries) {
+        final double[] sum = new double[3];
+        final double[] sum2 = new double[3];
+
+        for (Entry<?> e : entries) {
+            for (int axis = 0; axis < 3; axis++) {
+                final double center = (e.box().minimum(axis) + e.box().maximum(axis)) / 2;
+                sum[axis] += center;
+                sum2[axis] += center * center;
+            }
+        }
+
+        int widest = 0;
+        double maximum = -1;
+
+        for (int axis = 0; axis < 3; axis++) {
+            final double variance = sum2[axis] - (sum[axis] * sum[axis]) / entries.size();
+            if (variance > maximum) {
+                maximum = variance;
+                widest = axis;
+            }
+        }
+
+        return widest;
+    }
+
+    /**
+     * A transient data class for storing an object with its bounding box.
+     *
+     * @param object Object
+     * @param box    Bounding box of object
+     * @param <O>    Type of object
+     */
+    private record Entry<O>(
+            @Nonnull O object,
+            @Nonnull BoundingBox box
+    ) {}
+}